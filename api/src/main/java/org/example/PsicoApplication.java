@@ -5,11 +5,16 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
+import java.util.Map;
+
 @SpringBootApplication
 @EnableAsync
 @EnableScheduling
 public class PsicoApplication {
     public static void main(String[] args) {
-        SpringApplication.run(PsicoApplication.class, args);
+        SpringApplication application = new SpringApplication(PsicoApplication.class);
+        // Tomcat's RemoteIpValve only trusts X-Forwarded-For from internal proxies; override per deployment.
+        application.setDefaultProperties(Map.of("server.forward-headers-strategy", "native"));
+        application.run(args);
     }
 }
@@ -1,15 +1,27 @@
 package org.example.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.example.domain.company.Company;
+import org.example.domain.user.User;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -17,6 +29,13 @@ import java.util.function.Function;
 
 @Service
 public class JwtService {
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String NAME_CLAIM = "name";
+    private static final String PHONE_CLAIM = "phone";
+    private static final String COMPANY_ID_CLAIM = "cid";
+    private static final String COMPANY_NAME_CLAIM = "cname";
+    private static final String COMPANY_TYPE_CLAIM = "ctype";
+    private static final String VERSION_CLAIM = "ver";
 
     @Value("${jwt.secret}")
     private String secretKey;
@@ -24,19 +43,129 @@ public class JwtService {
     @Value("${jwt.expiration}")
     private long jwtExpiration;
 
+    @Value("${auth.jwt.stateless:false}")
+    private boolean stateless;
+
+    @Value("${jwt.cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    @Value("${jwt.cache.max-ttl:PT5M}")
+    private Duration cacheMaxTtl;
+
+    private Key signInKey;
+    private JwtParser parser;
+    private Cache<String, Claims> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signInKey)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String digest, Claims claims, long currentTime) {
+                        return timeToLive(claims).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String digest, Claims claims, long currentTime, long currentDuration) {
+                        return timeToLive(claims).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String digest, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = parseVerified(token);
         return claimsResolver.apply(claims);
     }
 
+    // Cached by SHA-256 digest until the token expires, so repeat requests skip the HMAC check.
+    public Claims parseVerified(String token) {
+        String digest = digest(token);
+        Claims claims = verifiedTokens.getIfPresent(digest);
+        if (claims != null && !isExpired(claims)) {
+            return claims;
+        }
+
+        claims = extractAllClaims(token);
+        verifiedTokens.put(digest, claims);
+        return claims;
+    }
+
     public String generateToken(UserDetails userDetails) {
         return generateToken(new HashMap<>(), userDetails);
     }
 
+    // The version is always issued so revocation applies in both modes; the principal claims only when stateless.
+    public String generateToken(User user, long tokenVersion) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(VERSION_CLAIM, tokenVersion);
+        if (!stateless) {
+            return generateToken(claims, user);
+        }
+
+        claims.put(USER_ID_CLAIM, user.getId());
+        claims.put(NAME_CLAIM, user.getName());
+        claims.put(PHONE_CLAIM, user.getPhoneNumber());
+        Company company = user.getCompany();
+        if (company != null) {
+            claims.put(COMPANY_ID_CLAIM, company.getId());
+            claims.put(COMPANY_NAME_CLAIM, company.getName());
+            claims.put(COMPANY_TYPE_CLAIM, company.getType());
+        }
+        return generateToken(claims, user);
+    }
+
+    public boolean isStateless() {
+        return stateless;
+    }
+
+    public boolean hasPrincipalClaims(Claims claims) {
+        return claims.get(USER_ID_CLAIM) != null && claims.get(VERSION_CLAIM) != null;
+    }
+
+    public Integer extractUserId(Claims claims) {
+        return claims.get(USER_ID_CLAIM, Integer.class);
+    }
+
+    // Tokens issued before versioning count as version 0, so they stay valid until the first revocation.
+    public long extractTokenVersion(Claims claims) {
+        Long version = claims.get(VERSION_CLAIM, Long.class);
+        return version != null ? version : 0L;
+    }
+
+    // Detached: never persisted and has no password.
+    public User principalFrom(Claims claims) {
+        Company company = null;
+        if (claims.get(COMPANY_ID_CLAIM) != null) {
+            company = Company.builder()
+                    .id(claims.get(COMPANY_ID_CLAIM, Integer.class))
+                    .name(claims.get(COMPANY_NAME_CLAIM, String.class))
+                    .type(claims.get(COMPANY_TYPE_CLAIM, String.class))
+                    .build();
+        }
+        return User.builder()
+                .id(extractUserId(claims))
+                .email(claims.getSubject())
+                .name(claims.get(NAME_CLAIM, String.class))
+                .phoneNumber(claims.get(PHONE_CLAIM, String.class))
+                .company(company)
+                .build();
+    }
+
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
         return buildToken(extraClaims, userDetails, jwtExpiration);
     }
@@ -48,34 +177,45 @@ public class JwtService {
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signInKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(parseVerified(token), userDetails);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername()) && !isExpired(claims);
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private boolean isExpired(Claims claims) {
+        return claims.getExpiration() != null && claims.getExpiration().before(new Date());
+    }
+
+    private Duration timeToLive(Claims claims) {
+        if (claims.getExpiration() == null) {
+            return cacheMaxTtl;
+        }
+        Duration untilExpiry = Duration.ofMillis(claims.getExpiration().getTime() - System.currentTimeMillis());
+        if (untilExpiry.isNegative()) {
+            return Duration.ZERO;
+        }
+        return untilExpiry.compareTo(cacheMaxTtl) < 0 ? untilExpiry : cacheMaxTtl;
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
+        return parser
                 .parseClaimsJws(token)
                 .getBody();
     }
 
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
\ No newline at end of file
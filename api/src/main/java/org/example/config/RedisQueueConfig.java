@@ -4,4 +4,18 @@ public final class RedisQueueConfig {
    private RedisQueueConfig() {}
 
    public static final String WHATSAPP_MESSAGES_QUEUE = "queue:whatsapp:messages";
-}
\ No newline at end of file
+   public static final String WHATSAPP_PROCESSING_PREFIX = "queue:whatsapp:processing:";
+   public static final String WHATSAPP_HEARTBEAT_PREFIX = "queue:whatsapp:heartbeat:";
+   public static final String WHATSAPP_CONSUMERS = "queue:whatsapp:consumers";
+   public static final String WHATSAPP_DEAD_LETTER_QUEUE = "queue:whatsapp:dead";
+   public static final String WHATSAPP_DELAYED_QUEUE = "queue:whatsapp:delayed";
+   public static final String WHATSAPP_MESSAGES_STREAM = "stream:whatsapp:messages";
+   public static final String WHATSAPP_CONSUMER_GROUP = "whatsapp-senders";
+   public static final String CAMPAIGN_JOB_PREFIX = "campaign:job:";
+   public static final String CLIENT_IMPORT_JOB_PREFIX = "client:import:";
+   public static final String USER_CACHE_EVICT_CHANNEL = "auth:user-cache:evict";
+   public static final String TOKEN_VERSION_PREFIX = "auth:token-version:";
+   public static final String LOGIN_ATTEMPTS_EMAIL_PREFIX = "auth:login:email:";
+   public static final String LOGIN_ATTEMPTS_IP_PREFIX = "auth:login:ip:";
+   public static final String LOGIN_LOCK_EMAIL_PREFIX = "auth:login:lock:";
+}
@@ -1,6 +1,8 @@
 package org.example.config;
 
 import lombok.RequiredArgsConstructor;
+import org.example.domain.auth.TokenVersionService;
+import org.example.domain.user.UserPrincipalCache;
 import org.example.domain.user.UserRepository;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -29,10 +31,12 @@ import java.util.Arrays;
 public class WebSecurityConfig {
     private final UserRepository userRepository;
     private final JwtService jwtService;
+    private final UserPrincipalCache userPrincipalCache;
+    private final TokenVersionService tokenVersionService;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
-        final JwtAuthFilter jwtAuthFilter = new JwtAuthFilter(jwtService, userDetailsService());
+        final JwtAuthFilter jwtAuthFilter = new JwtAuthFilter(jwtService, cachedUserDetailsService(), tokenVersionService);
 
         http
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
@@ -70,6 +74,11 @@ public class WebSecurityConfig {
                 .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado com o email: " + username));
     }
 
+    private UserDetailsService cachedUserDetailsService() {
+        return username -> userPrincipalCache.get(username, email -> userRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado com o email: " + email)));
+    }
+
     @Bean
     public AuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
@@ -90,6 +99,6 @@ public class WebSecurityConfig {
 
     @Bean
     public JwtAuthFilter jwtAuthFilter() {
-        return new JwtAuthFilter(jwtService, userDetailsService());
+        return new JwtAuthFilter(jwtService, cachedUserDetailsService(), tokenVersionService);
     }
 }
\ No newline at end of file
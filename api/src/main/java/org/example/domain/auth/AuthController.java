@@ -1,5 +1,6 @@
 package org.example.domain.auth;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.example.domain.user.UserRecord;
@@ -7,6 +8,9 @@ import org.example.exception.CustomExceptions;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
@@ -15,20 +19,50 @@ public class AuthController {
     private final AuthService authService;
 
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody UserRecord.LoginRequest request) {
+    public CompletableFuture<ResponseEntity<AuthResponse>> login(
+            @Valid @RequestBody UserRecord.LoginRequest request,
+            HttpServletRequest httpRequest
+    ) {
         try {
-            return ResponseEntity.ok(authService.authenticate(request));
+            // Behind a proxy this is the forwarded client address (see server.forward-headers-strategy).
+            return authService.authenticate(request, httpRequest.getRemoteAddr())
+                    .thenApply(ResponseEntity::ok)
+                    .exceptionally(e -> {
+                        throw loginFailure(e);
+                    });
         } catch (Exception e) {
-            throw new CustomExceptions.AuthenticationException("Credenciais inválidas fornecidas");
+            throw loginFailure(e);
         }
     }
 
     @PostMapping("/register")
-    public ResponseEntity<AuthResponse> register(@Valid @RequestBody UserRecord.RegisterRequest request) {
+    public CompletableFuture<ResponseEntity<AuthResponse>> register(@Valid @RequestBody UserRecord.RegisterRequest request) {
         try {
-            return ResponseEntity.ok(authService.register(request));
+            return authService.register(request)
+                    .thenApply(ResponseEntity::ok)
+                    .exceptionally(e -> {
+                        throw registerFailure(e);
+                    });
         } catch (Exception e) {
-            throw new CustomExceptions.DataConflictException("E-mail ou nome de usuário já registrado");
+            throw registerFailure(e);
         }
     }
-}
\ No newline at end of file
+
+    private static RuntimeException loginFailure(Throwable e) {
+        if (unwrap(e) instanceof CustomExceptions.RateLimitExceededException rateLimited) {
+            return rateLimited;
+        }
+        return new CustomExceptions.AuthenticationException("Credenciais inválidas fornecidas");
+    }
+
+    private static RuntimeException registerFailure(Throwable e) {
+        if (unwrap(e) instanceof CustomExceptions.RateLimitExceededException rateLimited) {
+            return rateLimited;
+        }
+        return new CustomExceptions.DataConflictException("E-mail ou nome de usuário já registrado");
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+}
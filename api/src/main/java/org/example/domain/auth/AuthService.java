@@ -2,8 +2,10 @@ package org.example.domain.auth;
 
 import org.example.domain.user.UserRecord;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface AuthService {
-    AuthResponse register(UserRecord.RegisterRequest request);
+    CompletableFuture<AuthResponse> register(UserRecord.RegisterRequest request);
 
-    AuthResponse authenticate(UserRecord.LoginRequest request);
+    CompletableFuture<AuthResponse> authenticate(UserRecord.LoginRequest request, String clientIp);
 }
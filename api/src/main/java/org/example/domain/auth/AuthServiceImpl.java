@@ -1,68 +1,85 @@
 package org.example.domain.auth;
 
-import lombok.RequiredArgsConstructor;
 import org.example.config.JwtService;
 import org.example.exception.EmailAlreadyExistsException;
 import org.example.exception.InvalidCredentialsException;
 import org.example.domain.user.User;
 import org.example.domain.user.UserRecord;
 import org.example.domain.user.UserRepository;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.AuthenticationException;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 @Service
-@RequiredArgsConstructor
 public class AuthServiceImpl implements AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
+    private final LoginThrottle loginThrottle;
     private final JwtService jwtService;
-    private final AuthenticationManager authenticationManager;
+    private final TokenVersionService tokenVersionService;
+    private final Executor authExecutor;
+
+    public AuthServiceImpl(
+            UserRepository userRepository,
+            PasswordHasher passwordHasher,
+            LoginThrottle loginThrottle,
+            JwtService jwtService,
+            TokenVersionService tokenVersionService,
+            @Qualifier("authExecutor") Executor authExecutor
+    ) {
+        this.userRepository = userRepository;
+        this.passwordHasher = passwordHasher;
+        this.loginThrottle = loginThrottle;
+        this.jwtService = jwtService;
+        this.tokenVersionService = tokenVersionService;
+        this.authExecutor = authExecutor;
+    }
 
     @Override
-    public AuthResponse register(UserRecord.RegisterRequest request) {
+    public CompletableFuture<AuthResponse> register(UserRecord.RegisterRequest request) {
         if (userRepository.findByEmail(request.email()).isPresent()) {
             throw new EmailAlreadyExistsException("Email já está em uso");
         }
 
-        var user = User.builder()
-                .name(request.name())
-                .email(request.email())
-                .phoneNumber(request.phoneNumber())
-                .password(passwordEncoder.encode(request.password()))
-                .build();
+        // Database and Redis work stays off the hash pool, which is sized for BCrypt only.
+        return passwordHasher.encode(request.password()).thenApplyAsync(encodedPassword -> {
+            var user = User.builder()
+                    .name(request.name())
+                    .email(request.email())
+                    .phoneNumber(request.phoneNumber())
+                    .password(encodedPassword)
+                    .build();
 
-        userRepository.save(user);
-        var jwtToken = jwtService.generateToken(user);
-
-        return AuthResponse.builder()
-                .id(user.getId())
-                .token(jwtToken)
-                .email(user.getEmail())
-                .name(user.getName())
-                .build();
+            userRepository.save(user);
+            return toResponse(user);
+        }, authExecutor);
     }
 
     @Override
-    public AuthResponse authenticate(UserRecord.LoginRequest request) {
-        try {
-            authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(
-                            request.email(),
-                            request.password()
-                    )
-            );
-        } catch (AuthenticationException e) {
-            throw new InvalidCredentialsException("Credenciais inválidas");
-        }
+    public CompletableFuture<AuthResponse> authenticate(UserRecord.LoginRequest request, String clientIp) {
+        loginThrottle.acquire(request.email(), clientIp);
+
+        Optional<User> found = userRepository.findByEmail(request.email());
+        CompletableFuture<Boolean> verified = found
+                .map(user -> passwordHasher.matches(request.password(), user.getPassword()))
+                .orElseGet(() -> passwordHasher.matchesUnknownUser(request.password()));
 
-        var user = userRepository.findByEmail(request.email())
-                .orElseThrow(() -> new InvalidCredentialsException("Usuário não encontrado"));
+        return verified.thenApplyAsync(matches -> {
+            if (!matches) {
+                loginThrottle.recordFailure(request.email());
+                throw new InvalidCredentialsException("Credenciais inválidas");
+            }
+            loginThrottle.recordSuccess(request.email());
+            return toResponse(found.get());
+        }, authExecutor);
+    }
 
-        var jwtToken = jwtService.generateToken(user);
+    private AuthResponse toResponse(User user) {
+        var jwtToken = jwtService.generateToken(user, tokenVersionService.current(user.getId()));
 
         return AuthResponse.builder()
                 .id(user.getId())
@@ -71,4 +88,4 @@ public class AuthServiceImpl implements AuthService {
                 .name(user.getName())
                 .build();
     }
-}
\ No newline at end of file
+}
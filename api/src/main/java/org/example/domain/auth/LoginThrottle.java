@@ -0,0 +1,92 @@
+package org.example.domain.auth;
+
+import org.example.config.RedisQueueConfig;
+import org.example.exception.CustomExceptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+@Component
+public class LoginThrottle {
+    private static final int MAX_BACKOFF_SHIFT = 20;
+
+    private final StringRedisTemplate redisTemplate;
+    private final int maxAttemptsPerEmail;
+    private final int maxAttemptsPerIp;
+    private final Duration window;
+    private final Duration backoffBase;
+    private final Duration backoffMax;
+
+    public LoginThrottle(
+            StringRedisTemplate redisTemplate,
+            @Value("${auth.login.max-failures-per-email:5}") int maxAttemptsPerEmail,
+            @Value("${auth.login.max-attempts-per-ip:50}") int maxAttemptsPerIp,
+            @Value("${auth.login.window:PT15M}") Duration window,
+            @Value("${auth.login.backoff-base:PT1S}") Duration backoffBase,
+            @Value("${auth.login.backoff-max:PT15M}") Duration backoffMax
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.maxAttemptsPerEmail = maxAttemptsPerEmail;
+        this.maxAttemptsPerIp = maxAttemptsPerIp;
+        this.window = window;
+        this.backoffBase = backoffBase;
+        this.backoffMax = backoffMax;
+    }
+
+    // Every attempt counts against the IP; the email is only delayed after repeated failures.
+    public void acquire(String email, String clientIp) {
+        if (Boolean.TRUE.equals(redisTemplate.hasKey(lockKey(email)))) {
+            throw new CustomExceptions.RateLimitExceededException("Muitas tentativas de login para este e-mail. Tente novamente mais tarde.");
+        }
+        if (clientIp != null && increment(ipKey(clientIp)) > maxAttemptsPerIp) {
+            throw new CustomExceptions.RateLimitExceededException("Muitas tentativas de login. Tente novamente mais tarde.");
+        }
+    }
+
+    public void recordFailure(String email) {
+        String key = emailKey(email);
+        Long failures = redisTemplate.opsForValue().increment(key);
+        redisTemplate.expire(key, window);
+        if (failures != null && failures >= maxAttemptsPerEmail) {
+            redisTemplate.opsForValue().set(lockKey(email), String.valueOf(failures), backoff(failures));
+        }
+    }
+
+    public void recordSuccess(String email) {
+        redisTemplate.delete(emailKey(email));
+        redisTemplate.delete(lockKey(email));
+    }
+
+    private Duration backoff(long failures) {
+        long shift = Math.min(failures - maxAttemptsPerEmail, MAX_BACKOFF_SHIFT);
+        Duration delay = backoffBase.multipliedBy(1L << shift);
+        return delay.compareTo(backoffMax) < 0 ? delay : backoffMax;
+    }
+
+    private long increment(String key) {
+        Long count = redisTemplate.opsForValue().increment(key);
+        if (count != null && count == 1) {
+            redisTemplate.expire(key, window);
+        }
+        return count != null ? count : 0L;
+    }
+
+    private static String emailKey(String email) {
+        return RedisQueueConfig.LOGIN_ATTEMPTS_EMAIL_PREFIX + normalize(email);
+    }
+
+    private static String lockKey(String email) {
+        return RedisQueueConfig.LOGIN_LOCK_EMAIL_PREFIX + normalize(email);
+    }
+
+    private static String ipKey(String clientIp) {
+        return RedisQueueConfig.LOGIN_ATTEMPTS_IP_PREFIX + clientIp;
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,108 @@
+package org.example.domain.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.config.RedisQueueConfig;
+import org.example.domain.user.UserPrincipalCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Service
+public class TokenVersionService {
+    private final StringRedisTemplate redisTemplate;
+    private final UserPrincipalCache userPrincipalCache;
+    private final Duration maxStale;
+    private final LoadingCache<Integer, Long> versions;
+    private final Cache<Integer, Long> lastKnown;
+    private final Counter lastKnownFallbacks;
+    private final Counter failOpenFallbacks;
+    private final AtomicLong outageStartedAt = new AtomicLong();
+
+    public TokenVersionService(
+            StringRedisTemplate redisTemplate,
+            UserPrincipalCache userPrincipalCache,
+            MeterRegistry meterRegistry,
+            @Value("${auth.token-version.cache-ttl:PT10S}") Duration cacheTtl,
+            @Value("${auth.token-version.max-stale:PT5M}") Duration maxStale
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.userPrincipalCache = userPrincipalCache;
+        this.maxStale = maxStale;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(cacheTtl)
+                .build(this::load);
+        this.lastKnown = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(maxStale)
+                .build();
+        this.lastKnownFallbacks = Counter.builder("auth.token.version.fallback")
+                .tag("outcome", "last_known")
+                .register(meterRegistry);
+        this.failOpenFallbacks = Counter.builder("auth.token.version.fallback")
+                .tag("outcome", "fail_open")
+                .register(meterRegistry);
+    }
+
+    public long current(Integer userId) {
+        return versions.get(userId);
+    }
+
+    public boolean isCurrent(Integer userId, long tokenVersion) {
+        return tokenVersion >= current(userId);
+    }
+
+    // Bumping the version invalidates every token issued before it.
+    public long revoke(Integer userId) {
+        Long version = redisTemplate.opsForValue().increment(key(userId));
+        versions.invalidate(userId);
+        userPrincipalCache.evict(userId);
+        return version != null ? version : 0L;
+    }
+
+    private long load(Integer userId) {
+        try {
+            String version = redisTemplate.opsForValue().get(key(userId));
+            long current = version != null ? Long.parseLong(version) : 0L;
+            lastKnown.put(userId, current);
+            outageStartedAt.set(0);
+            return current;
+        } catch (DataAccessException e) {
+            return fallback(userId, e);
+        }
+    }
+
+    // A Redis outage must not log everyone out: the last version seen is reused, and users with
+    // none are let through, but only until the outage is older than max-stale.
+    private long fallback(Integer userId, DataAccessException e) {
+        long now = System.currentTimeMillis();
+        outageStartedAt.compareAndSet(0, now);
+        if (now - outageStartedAt.get() > maxStale.toMillis()) {
+            throw e;
+        }
+
+        Long known = lastKnown.getIfPresent(userId);
+        if (known != null) {
+            lastKnownFallbacks.increment();
+            log.warn("Token version for user ID: {} unavailable, using last known version {}. Error: {}", userId, known, e.getMessage());
+            return known;
+        }
+        failOpenFallbacks.increment();
+        log.warn("Token version for user ID: {} unavailable and never seen, accepting its tokens. Error: {}", userId, e.getMessage());
+        return 0L;
+    }
+
+    private static String key(Integer userId) {
+        return RedisQueueConfig.TOKEN_VERSION_PREFIX + userId;
+    }
+}
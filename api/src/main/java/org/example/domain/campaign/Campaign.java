@@ -0,0 +1,75 @@
+package org.example.domain.campaign;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.springframework.data.domain.Persistable;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "campaigns")
+public class Campaign implements Persistable<UUID> {
+   @Id
+   private UUID id;
+
+   @Column(name = "user_id", nullable = false)
+   private Integer userId;
+
+   @Column(name = "initial", columnDefinition = "TEXT")
+   private String initial;
+
+   @Column(name = "promotion", columnDefinition = "TEXT")
+   private String promotion;
+
+   @Column(name = "information", columnDefinition = "TEXT")
+   private String information;
+
+   @Column(name = "invite", columnDefinition = "TEXT")
+   private String invite;
+
+   @Enumerated(EnumType.STRING)
+   @Column(name = "send_profile", nullable = false, length = 20)
+   private CampaignRecord.SendProfile sendProfile;
+
+   @Builder.Default
+   @Enumerated(EnumType.STRING)
+   @Column(name = "status", nullable = false, length = 20)
+   private CampaignRecord.JobStatus status = CampaignRecord.JobStatus.QUEUED;
+
+   // Copied from the job tracker when the fan-out ends, so the job stays readable after its Redis hash expires.
+   @Column(name = "total_messages", nullable = false)
+   private long totalMessages;
+
+   @Column(name = "enqueued", nullable = false)
+   private long enqueued;
+
+   @Column(name = "enqueue_failed", nullable = false)
+   private long enqueueFailed;
+
+   @CreationTimestamp
+   @Column(name = "created_at", updatable = false)
+   private Timestamp createdAt;
+
+   // The id is assigned up front, so tell Spring Data the row is new and save() persists instead of merging.
+   @Transient
+   @Builder.Default
+   private boolean newEntity = true;
+
+   @Override
+   public boolean isNew() {
+      return newEntity;
+   }
+
+   @PostLoad
+   @PostPersist
+   void markNotNew() {
+      newEntity = false;
+   }
+}
@@ -11,6 +11,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/campaigns")
@@ -24,7 +25,7 @@ public class CampaignController {
    private final MessageSource messageSource;
 
    @PostMapping("/generate-message")
-   public ResponseEntity<CampaignRecord.CampaignMessageResponse> generateCampaignMessage(
+   public CompletableFuture<ResponseEntity<CampaignRecord.CampaignMessageResponse>> generateCampaignMessage(
      @RequestBody CampaignRecord.GenerateMessageRequest request,
      Authentication authentication
    ) {
@@ -35,17 +36,24 @@ public class CampaignController {
       logger.info(messageSource.getMessage("campaign.generate.message.request", new Object[]{user.getId()}, Locale.getDefault()));
 
       try {
-         CampaignRecord.CampaignMessageResponse response = userService.generateCampaignMessage(user, request.prompt());
-         return ResponseEntity.ok(response);
+         return userService.generateCampaignMessage(user, request.prompt())
+           .thenApply(ResponseEntity::ok)
+           .exceptionally(e -> {
+              throw campaignMessageFailure();
+           });
       } catch (Exception e) {
-         throw new CustomExceptions.CampaignProcessingException(
-           messageSource.getMessage("user.chat.api.communicationError", null, Locale.getDefault())
-         );
+         throw campaignMessageFailure();
       }
    }
 
+   private CustomExceptions.CampaignProcessingException campaignMessageFailure() {
+      return new CustomExceptions.CampaignProcessingException(
+        messageSource.getMessage("user.chat.api.communicationError", null, Locale.getDefault())
+      );
+   }
+
    @PostMapping("/send")
-   public ResponseEntity<String> sendCampaign(
+   public ResponseEntity<CampaignRecord.CampaignJobResponse> sendCampaign(
      @RequestBody CampaignRecord.SendCampaignRequest request,
      Authentication authentication
    ) {
@@ -56,14 +64,27 @@ public class CampaignController {
       logger.info(messageSource.getMessage("campaign.schedule.message.request", new Object[]{user.getId()}, Locale.getDefault()));
 
       try {
-         campaignService.scheduleCampaign(user, request);
-         return ResponseEntity.accepted().body(
+         String jobId = campaignService.scheduleCampaign(user, request);
+         return ResponseEntity.accepted().body(new CampaignRecord.CampaignJobResponse(
+           jobId,
            messageSource.getMessage("campaign.messages.queued", null, Locale.getDefault())
-         );
+         ));
       } catch (Exception e) {
          throw new CustomExceptions.CampaignProcessingException(
            messageSource.getMessage("campaign.message.error", new Object[]{user.getId(), e.getMessage()}, Locale.getDefault())
          );
       }
    }
+
+   @GetMapping("/{jobId}")
+   public ResponseEntity<CampaignRecord.CampaignJobStatus> getCampaignJob(
+     @PathVariable String jobId,
+     Authentication authentication
+   ) {
+      if (authentication == null || authentication.getPrincipal() == null) {
+         throw new CustomExceptions.AuthenticationException("Usuário não autenticado");
+      }
+      User user = (User) authentication.getPrincipal();
+      return ResponseEntity.ok(campaignService.getCampaignJob(user, jobId));
+   }
 }
\ No newline at end of file
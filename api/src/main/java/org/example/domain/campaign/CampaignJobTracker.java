@@ -0,0 +1,79 @@
+package org.example.domain.campaign;
+
+import lombok.RequiredArgsConstructor;
+import org.example.config.RedisQueueConfig;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+@Component
+@RequiredArgsConstructor
+public class CampaignJobTracker {
+   private static final Duration JOB_TTL = Duration.ofDays(1);
+
+   private static final String USER_ID = "userId";
+   private static final String STATUS = "status";
+   private static final String TOTAL = "total";
+   private static final String ENQUEUED = "enqueued";
+   // Hash field keeps its original name so jobs created before the rename still read.
+   private static final String ENQUEUE_FAILED = "failed";
+
+   private final StringRedisTemplate redisTemplate;
+
+   public void create(String jobId, Integer userId) {
+      String key = key(jobId);
+      redisTemplate.opsForHash().putAll(key, Map.of(
+        USER_ID, String.valueOf(userId),
+        STATUS, CampaignRecord.JobStatus.QUEUED.name(),
+        TOTAL, "0",
+        ENQUEUED, "0",
+        ENQUEUE_FAILED, "0"
+      ));
+      redisTemplate.expire(key, JOB_TTL);
+   }
+
+   public void start(String jobId, long totalMessages) {
+      redisTemplate.opsForHash().putAll(key(jobId), Map.of(
+        STATUS, CampaignRecord.JobStatus.RUNNING.name(),
+        TOTAL, String.valueOf(totalMessages)
+      ));
+   }
+
+   public void recordEnqueued(String jobId, long count) {
+      redisTemplate.opsForHash().increment(key(jobId), ENQUEUED, count);
+   }
+
+   public void recordEnqueueFailed(String jobId, long count) {
+      redisTemplate.opsForHash().increment(key(jobId), ENQUEUE_FAILED, count);
+   }
+
+   public void finish(String jobId, CampaignRecord.JobStatus status) {
+      redisTemplate.opsForHash().put(key(jobId), STATUS, status.name());
+   }
+
+   public Optional<CampaignRecord.CampaignJobStatus> find(String jobId, Integer userId) {
+      Map<Object, Object> entries = redisTemplate.opsForHash().entries(key(jobId));
+      if (entries.isEmpty() || !String.valueOf(userId).equals(entries.get(USER_ID))) {
+         return Optional.empty();
+      }
+
+      long total = Long.parseLong((String) entries.get(TOTAL));
+      long enqueued = Long.parseLong((String) entries.get(ENQUEUED));
+      long enqueueFailed = Long.parseLong((String) entries.get(ENQUEUE_FAILED));
+      return Optional.of(new CampaignRecord.CampaignJobStatus(
+        jobId,
+        CampaignRecord.JobStatus.valueOf((String) entries.get(STATUS)),
+        total,
+        enqueued,
+        enqueueFailed,
+        Math.max(0, total - enqueued - enqueueFailed)
+      ));
+   }
+
+   private String key(String jobId) {
+      return RedisQueueConfig.CAMPAIGN_JOB_PREFIX + jobId;
+   }
+}
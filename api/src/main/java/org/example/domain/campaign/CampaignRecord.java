@@ -2,6 +2,7 @@ package org.example.domain.campaign;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.example.service.EvolutionApiService.EvolutionApiRecord;
 import org.springframework.context.MessageSource;
 
 import java.time.LocalDate;
@@ -23,11 +24,34 @@ public class CampaignRecord {
    ) {}
 
    public enum TargetingType { ALL, SPECIFIC, LAST_PURCHASE }
+
+   public enum SendProfile {
+      BULK(null, 0),
+      HUMANIZED("composing", 5000);
+
+      private final String presence;
+      private final long delayMillis;
+
+      SendProfile(String presence, long delayMillis) {
+         this.presence = presence;
+         this.delayMillis = delayMillis;
+      }
+
+      public long delayMillis() {
+         return delayMillis;
+      }
+
+      public EvolutionApiRecord.SendMessageOptions toOptions() {
+         return presence == null ? null : new EvolutionApiRecord.SendMessageOptions(null, presence);
+      }
+   }
+
    public record SendCampaignRequest(
      @NotNull(message = "{campaign.validation.notNull}") CampaignMessageResponse messages,
      @NotNull(message = "{campaign.validation.notNull}") TargetingType targetingType,
      List<Integer> specificClientIds,
-     DateRange lastPurchaseRange
+     DateRange lastPurchaseRange,
+     SendProfile sendProfile
    ) {
       public SendCampaignRequest {
          if (targetingType == TargetingType.SPECIFIC && (specificClientIds == null || specificClientIds.isEmpty())) {
@@ -36,6 +60,9 @@ public class CampaignRecord {
          if (targetingType == TargetingType.LAST_PURCHASE && lastPurchaseRange == null) {
             throw new IllegalArgumentException(messageSource.getMessage("campaign.dateRangeRequired", null, Locale.getDefault()));
          }
+         if (sendProfile == null) {
+            sendProfile = SendProfile.HUMANIZED;
+         }
       }
    }
 
@@ -44,8 +71,45 @@ public class CampaignRecord {
      @NotNull(message = "{campaign.validation.notNull}") LocalDate endDate
    ) {}
 
-   public record WhatsAppMessage(
-     String phoneNumber,
-     String text
+   public enum JobStatus { QUEUED, RUNNING, COMPLETED, FAILED }
+
+   public record CampaignJobResponse(
+     String jobId,
+     String message
    ) {}
+
+   // Counts track the fan-out onto the WhatsApp queue, not delivery: enqueueFailed are messages that never
+   // reached the queue, and pending are those not yet pushed. Send failures are not reflected here.
+   public record CampaignJobStatus(
+     String jobId,
+     JobStatus status,
+     long total,
+     long enqueued,
+     long enqueueFailed,
+     long pending
+   ) {}
+
+   public record WhatsAppMessage(
+     String campaignId,
+     Integer clientId,
+     int nextPart,
+     Long notBefore,
+     int attempts
+   ) {
+      public WhatsAppMessage(String campaignId, Integer clientId) {
+         this(campaignId, clientId, 0, null, 0);
+      }
+
+      public WhatsAppMessage advancedBy(int sentParts) {
+         return new WhatsAppMessage(campaignId, clientId, nextPart + sentParts, notBefore, 0);
+      }
+
+      public WhatsAppMessage scheduledAt(long notBefore) {
+         return new WhatsAppMessage(campaignId, clientId, nextPart, notBefore, attempts);
+      }
+
+      public WhatsAppMessage withNextAttempt() {
+         return new WhatsAppMessage(campaignId, clientId, nextPart, notBefore, attempts + 1);
+      }
+   }
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package org.example.domain.campaign;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+@Repository
+public interface CampaignRepository extends JpaRepository<Campaign, UUID> {
+   @Transactional
+   @Modifying
+   @Query("UPDATE Campaign c SET c.status = :status WHERE c.id = :id")
+   int updateStatus(@Param("id") UUID id, @Param("status") CampaignRecord.JobStatus status);
+
+   @Transactional
+   @Modifying
+   @Query("""
+     UPDATE Campaign c
+     SET c.status = :status, c.totalMessages = :total, c.enqueued = :enqueued, c.enqueueFailed = :enqueueFailed
+     WHERE c.id = :id
+     """)
+   int finish(
+     @Param("id") UUID id,
+     @Param("status") CampaignRecord.JobStatus status,
+     @Param("total") long total,
+     @Param("enqueued") long enqueued,
+     @Param("enqueueFailed") long enqueueFailed
+   );
+}
@@ -3,6 +3,7 @@ package org.example.domain.campaign;
 import org.example.domain.user.User;
 
 public interface CampaignService {
-   void scheduleCampaign(User user, CampaignRecord.SendCampaignRequest request);
+   String scheduleCampaign(User user, CampaignRecord.SendCampaignRequest request);
 
+   CampaignRecord.CampaignJobStatus getCampaignJob(User user, String jobId);
 }
@@ -1,89 +1,225 @@
 package org.example.domain.campaign;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
-import org.example.config.RedisQueueConfig;
-import org.example.domain.client.Client;
+import org.example.domain.client.ClientRecord;
 import org.example.domain.client.ClientRepository;
 import org.example.domain.user.User;
+import org.example.exception.CustomExceptions;
+import org.example.service.WhatsAppQueue.WhatsAppQueue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.MessageSource;
-import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
 
 @Service
-@RequiredArgsConstructor
 public class CampaignServiceImpl implements CampaignService {
    private static final Logger logger = LoggerFactory.getLogger(CampaignServiceImpl.class);
 
    private final ClientRepository clientRepository;
-   private final StringRedisTemplate redisTemplate;
-   private final ObjectMapper objectMapper;
+   private final CampaignRepository campaignRepository;
+   private final WhatsAppQueue whatsAppQueue;
    private final MessageSource messageSource;
+   private final CampaignJobTracker campaignJobTracker;
+   private final TaskExecutor campaignExecutor;
+
+   public CampaignServiceImpl(
+     ClientRepository clientRepository,
+     CampaignRepository campaignRepository,
+     WhatsAppQueue whatsAppQueue,
+     MessageSource messageSource,
+     CampaignJobTracker campaignJobTracker,
+     @Qualifier("campaignExecutor") TaskExecutor campaignExecutor
+   ) {
+      this.clientRepository = clientRepository;
+      this.campaignRepository = campaignRepository;
+      this.whatsAppQueue = whatsAppQueue;
+      this.messageSource = messageSource;
+      this.campaignJobTracker = campaignJobTracker;
+      this.campaignExecutor = campaignExecutor;
+   }
+
+   @Value("${campaign.queue.batch-size:500}")
+   private int enqueueBatchSize;
+
+   @Value("${campaign.targets.page-size:1000}")
+   private int targetPageSize;
 
-   private String extractFirstName(String fullName) {
-      if (fullName == null || fullName.trim().isEmpty()) {
-         return "Cliente";
+   @Override
+   public String scheduleCampaign(User user, CampaignRecord.SendCampaignRequest request) {
+      CampaignRecord.CampaignMessageResponse messages = request.messages();
+      Campaign campaign = campaignRepository.save(Campaign.builder()
+        .id(UUID.randomUUID())
+        .userId(user.getId())
+        .initial(messages.initial())
+        .promotion(messages.promotion())
+        .information(messages.information())
+        .invite(messages.invite())
+        .sendProfile(request.sendProfile())
+        .build());
+
+      String jobId = campaign.getId().toString();
+      campaignJobTracker.create(jobId, user.getId());
+      try {
+         campaignExecutor.execute(() -> runCampaign(jobId, user, request));
+      } catch (TaskRejectedException e) {
+         finish(campaign.getId(), user.getId(), CampaignRecord.JobStatus.FAILED);
+         throw new CustomExceptions.CampaignProcessingException(
+           messageSource.getMessage("campaign.job.rejected", new Object[]{user.getId()}, Locale.getDefault())
+         );
       }
-      String[] nameParts = fullName.trim().split("\\s+");
-      return nameParts[0];
+      logger.info(messageSource.getMessage("campaign.job.created", new Object[]{jobId, user.getId()}, Locale.getDefault()));
+      return jobId;
    }
 
    @Override
-   public void scheduleCampaign(User user, CampaignRecord.SendCampaignRequest request) {
+   public CampaignRecord.CampaignJobStatus getCampaignJob(User user, String jobId) {
+      return campaignJobTracker.find(jobId, user.getId())
+        .or(() -> findFinishedCampaign(jobId, user.getId()))
+        .orElseThrow(() -> new CustomExceptions.ResourceNotFoundException("Campanha", "jobId", jobId));
+   }
+
+   private void runCampaign(String jobId, User user, CampaignRecord.SendCampaignRequest request) {
+      try {
+         fanOut(jobId, user, request);
+      } catch (Exception e) {
+         logger.error(messageSource.getMessage("campaign.job.failed", new Object[]{jobId, e.getMessage()}, Locale.getDefault()));
+         finish(UUID.fromString(jobId), user.getId(), CampaignRecord.JobStatus.FAILED);
+      }
+   }
+
+   // The tracker hash expires after a day; past that the counts saved on the campaign row are served instead.
+   private Optional<CampaignRecord.CampaignJobStatus> findFinishedCampaign(String jobId, Integer userId) {
+      UUID campaignId;
+      try {
+         campaignId = UUID.fromString(jobId);
+      } catch (IllegalArgumentException e) {
+         return Optional.empty();
+      }
+      return campaignRepository.findById(campaignId)
+        .filter(campaign -> campaign.getUserId().equals(userId))
+        .map(campaign -> new CampaignRecord.CampaignJobStatus(
+          jobId,
+          campaign.getStatus(),
+          campaign.getTotalMessages(),
+          campaign.getEnqueued(),
+          campaign.getEnqueueFailed(),
+          Math.max(0, campaign.getTotalMessages() - campaign.getEnqueued() - campaign.getEnqueueFailed())
+        ));
+   }
+
+   private void fanOut(String jobId, User user, CampaignRecord.SendCampaignRequest request) {
       logger.info(messageSource.getMessage("campaign.schedule.start", new Object[]{user.getId(), request.targetingType()}, Locale.getDefault()));
 
-      List<Client> targetClients = findTargetClients(Long.valueOf(user.getId()), request);
-      logger.info(messageSource.getMessage("campaign.clients.found", new Object[]{user.getId(), targetClients.size()}, Locale.getDefault()));
+      Long userId = Long.valueOf(user.getId());
+      long audienceSize = countTargetClients(userId, request);
+      logger.info(messageSource.getMessage("campaign.clients.found", new Object[]{user.getId(), audienceSize}, Locale.getDefault()));
 
-      if (targetClients.isEmpty()) {
+      if (audienceSize == 0) {
          logger.warn(messageSource.getMessage("campaign.clients.empty", new Object[]{user.getId()}, Locale.getDefault()));
+         finish(UUID.fromString(jobId), user.getId(), CampaignRecord.JobStatus.COMPLETED);
          return;
       }
 
-      CampaignRecord.CampaignMessageResponse messages = request.messages();
+      campaignJobTracker.start(jobId, audienceSize);
+      campaignRepository.updateStatus(UUID.fromString(jobId), CampaignRecord.JobStatus.RUNNING);
 
-      List<String> messageParts = List.of(
-        messages.initial(),
-        messages.promotion(),
-        messages.information(),
-        messages.invite()
-      );
-
-      for (Client client : targetClients) {
-         for (String messagePart : messageParts) {
-            try {
-               String personalizedMessage = messagePart.replace("[nome do cliente]", extractFirstName(client.getName()));
-               CampaignRecord.WhatsAppMessage message = new CampaignRecord.WhatsAppMessage(client.getPhoneNumber(), personalizedMessage);
-               String messageJson = objectMapper.writeValueAsString(message);
-
-               redisTemplate.opsForList().rightPush(RedisQueueConfig.WHATSAPP_MESSAGES_QUEUE, messageJson);
-               logger.debug(messageSource.getMessage("campaign.message.queued", new Object[]{client.getId()}, Locale.getDefault()));
-
-            } catch (Exception e) {
-               logger.error(messageSource.getMessage("campaign.message.error", new Object[]{client.getId(), e.getMessage()}, Locale.getDefault()));
-            }
+      List<CampaignRecord.WhatsAppMessage> chunk = new ArrayList<>(enqueueBatchSize);
+      int chunkIndex = 0;
+      int failedMessages = 0;
+
+      CampaignTargetCursor targets = findTargetClients(userId, request);
+      while (targets.hasNext()) {
+         ClientRecord.campaignTargetDTO client = targets.next();
+         chunk.add(new CampaignRecord.WhatsAppMessage(jobId, client.id()));
+
+         if (chunk.size() >= enqueueBatchSize) {
+            failedMessages += pushChunk(jobId, chunk, chunkIndex++);
+            chunk.clear();
          }
       }
+      if (!chunk.isEmpty()) {
+         failedMessages += pushChunk(jobId, chunk, chunkIndex);
+      }
+      finish(UUID.fromString(jobId), user.getId(), CampaignRecord.JobStatus.COMPLETED);
+
+      if (failedMessages > 0) {
+         logger.warn(messageSource.getMessage("campaign.schedule.completeWithFailures", new Object[]{user.getId(), failedMessages}, Locale.getDefault()));
+         return;
+      }
       logger.info(messageSource.getMessage("campaign.schedule.complete", new Object[]{user.getId()}, Locale.getDefault()));
    }
 
-   private List<Client> findTargetClients(Long userId, CampaignRecord.SendCampaignRequest request) {
-      logger.debug(messageSource.getMessage("campaign.clients.search", new Object[]{userId, request.targetingType()}, Locale.getDefault()));
+   private void finish(UUID campaignId, Integer userId, CampaignRecord.JobStatus status) {
+      String jobId = campaignId.toString();
+      campaignJobTracker.finish(jobId, status);
+      Optional<CampaignRecord.CampaignJobStatus> counts = campaignJobTracker.find(jobId, userId);
+      if (counts.isEmpty()) {
+         campaignRepository.updateStatus(campaignId, status);
+         return;
+      }
+      CampaignRecord.CampaignJobStatus job = counts.get();
+      campaignRepository.finish(campaignId, status, job.total(), job.enqueued(), job.enqueueFailed());
+   }
+
+   private int pushChunk(String jobId, List<CampaignRecord.WhatsAppMessage> chunk, int chunkIndex) {
+      try {
+         whatsAppQueue.enqueueAll(chunk);
+         campaignJobTracker.recordEnqueued(jobId, chunk.size());
+         logger.debug(messageSource.getMessage("campaign.chunk.queued", new Object[]{chunkIndex, chunk.size()}, Locale.getDefault()));
+         return 0;
+      } catch (Exception e) {
+         logger.error(messageSource.getMessage("campaign.chunk.error", new Object[]{chunkIndex, chunk.size(), e.getMessage()}, Locale.getDefault()));
+         campaignJobTracker.recordEnqueueFailed(jobId, chunk.size());
+         return chunk.size();
+      }
+   }
+
+   private long countTargetClients(Long userId, CampaignRecord.SendCampaignRequest request) {
       return switch (request.targetingType()) {
-         case ALL -> clientRepository.findAllByUserId(userId);
+         case ALL -> clientRepository.countByUserId(userId);
 
-         case SPECIFIC -> clientRepository.findAllById(request.specificClientIds());
+         case SPECIFIC -> clientRepository.countByUserIdAndIdIn(userId, request.specificClientIds());
 
-         case LAST_PURCHASE -> clientRepository.findAllByUserIdAndLastPurchaseBetween(
+         case LAST_PURCHASE -> clientRepository.countByUserIdAndLastPurchaseBetween(
            userId,
            request.lastPurchaseRange().startDate(),
            request.lastPurchaseRange().endDate()
          );
       };
    }
+
+   private CampaignTargetCursor findTargetClients(Long userId, CampaignRecord.SendCampaignRequest request) {
+      logger.debug(messageSource.getMessage("campaign.clients.search", new Object[]{userId, request.targetingType()}, Locale.getDefault()));
+      return switch (request.targetingType()) {
+         case ALL -> new CampaignTargetCursor(
+           (afterId, limit) -> clientRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(userId, afterId, limit),
+           targetPageSize
+         );
+
+         case SPECIFIC -> new CampaignTargetCursor(
+           (afterId, limit) -> clientRepository.findByUserIdAndIdInAndIdGreaterThanOrderByIdAsc(userId, request.specificClientIds(), afterId, limit),
+           targetPageSize
+         );
+
+         case LAST_PURCHASE -> new CampaignTargetCursor(
+           (afterId, limit) -> clientRepository.findByUserIdAndLastPurchaseBetweenAndIdGreaterThanOrderByIdAsc(
+             userId,
+             request.lastPurchaseRange().startDate(),
+             request.lastPurchaseRange().endDate(),
+             afterId,
+             limit
+           ),
+           targetPageSize
+         );
+      };
+   }
 }
\ No newline at end of file
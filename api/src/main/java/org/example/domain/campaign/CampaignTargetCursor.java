@@ -0,0 +1,44 @@
+package org.example.domain.campaign;
+
+import org.example.domain.client.ClientRecord;
+import org.springframework.data.domain.Limit;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+
+class CampaignTargetCursor implements Iterator<ClientRecord.campaignTargetDTO> {
+   private final BiFunction<Integer, Limit, List<ClientRecord.campaignTargetDTO>> pageFetcher;
+   private final Limit pageLimit;
+
+   private Iterator<ClientRecord.campaignTargetDTO> page = Collections.emptyIterator();
+   private Integer lastId = 0;
+   private boolean exhausted;
+
+   CampaignTargetCursor(BiFunction<Integer, Limit, List<ClientRecord.campaignTargetDTO>> pageFetcher, int pageSize) {
+      this.pageFetcher = pageFetcher;
+      this.pageLimit = Limit.of(pageSize);
+   }
+
+   @Override
+   public boolean hasNext() {
+      while (!page.hasNext() && !exhausted) {
+         List<ClientRecord.campaignTargetDTO> next = pageFetcher.apply(lastId, pageLimit);
+         exhausted = next.size() < pageLimit.max();
+         page = next.iterator();
+      }
+      return page.hasNext();
+   }
+
+   @Override
+   public ClientRecord.campaignTargetDTO next() {
+      if (!hasNext()) {
+         throw new NoSuchElementException();
+      }
+      ClientRecord.campaignTargetDTO target = page.next();
+      lastId = target.id();
+      return target;
+   }
+}
@@ -0,0 +1,133 @@
+package org.example.domain.campaign;
+
+import org.example.domain.client.ClientRecord;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+final class CampaignTemplate {
+   private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+   private static final String DEFAULT_FIRST_NAME = "Cliente";
+
+   enum Placeholder {
+      FIRST_NAME("[nome do cliente]"),
+      PRODUCT("[produto]"),
+      AMOUNT("[valor]"),
+      LAST_PURCHASE("[ultima compra]"),
+      LAST_PURCHASE_ACCENTED("[última compra]");
+
+      private final String token;
+
+      Placeholder(String token) {
+         this.token = token;
+      }
+   }
+
+   private final String[] literals;
+   private final Placeholder[] placeholders;
+
+   private CampaignTemplate(String[] literals, Placeholder[] placeholders) {
+      this.literals = literals;
+      this.placeholders = placeholders;
+   }
+
+   static CampaignTemplate compile(String source) {
+      List<String> literals = new ArrayList<>();
+      List<Placeholder> placeholders = new ArrayList<>();
+
+      int literalStart = 0;
+      int cursor = source.indexOf('[');
+      while (cursor >= 0) {
+         Placeholder placeholder = placeholderAt(source, cursor);
+         if (placeholder == null) {
+            cursor = source.indexOf('[', cursor + 1);
+            continue;
+         }
+         literals.add(source.substring(literalStart, cursor));
+         placeholders.add(placeholder);
+         literalStart = cursor + placeholder.token.length();
+         cursor = source.indexOf('[', literalStart);
+      }
+      literals.add(source.substring(literalStart));
+
+      return new CampaignTemplate(literals.toArray(String[]::new), placeholders.toArray(Placeholder[]::new));
+   }
+
+   void renderTo(StringBuilder out, ClientRecord.campaignTargetDTO client) {
+      out.append(literals[0]);
+      for (int i = 0; i < placeholders.length; i++) {
+         switch (placeholders[i]) {
+            case FIRST_NAME -> appendFirstName(out, client.name());
+            case PRODUCT -> {
+               if (client.product() != null) {
+                  out.append(client.product());
+               }
+            }
+            case AMOUNT -> appendAmount(out, client.amount());
+            case LAST_PURCHASE, LAST_PURCHASE_ACCENTED -> {
+               if (client.lastPurchase() != null) {
+                  DATE_FORMAT.formatTo(client.lastPurchase(), out);
+               }
+            }
+         }
+         out.append(literals[i + 1]);
+      }
+   }
+
+   private static Placeholder placeholderAt(String source, int offset) {
+      for (Placeholder placeholder : Placeholder.values()) {
+         if (source.startsWith(placeholder.token, offset)) {
+            return placeholder;
+         }
+      }
+      return null;
+   }
+
+   private static void appendFirstName(StringBuilder out, String fullName) {
+      if (fullName == null) {
+         out.append(DEFAULT_FIRST_NAME);
+         return;
+      }
+
+      int start = 0;
+      int length = fullName.length();
+      while (start < length && Character.isWhitespace(fullName.charAt(start))) {
+         start++;
+      }
+      if (start == length) {
+         out.append(DEFAULT_FIRST_NAME);
+         return;
+      }
+
+      int end = start;
+      while (end < length && !Character.isWhitespace(fullName.charAt(end))) {
+         end++;
+      }
+      out.append(fullName, start, end);
+   }
+
+   private static void appendAmount(StringBuilder out, BigDecimal amount) {
+      if (amount == null) {
+         return;
+      }
+
+      BigDecimal cents = amount.setScale(2, RoundingMode.HALF_UP).abs();
+      String digits = cents.unscaledValue().toString();
+      if (digits.length() < 3) {
+         digits = "0".repeat(3 - digits.length()) + digits;
+      }
+      int integerLength = digits.length() - 2;
+
+      out.append(amount.signum() < 0 ? "-R$ " : "R$ ");
+      for (int i = 0; i < integerLength; i++) {
+         if (i > 0 && (integerLength - i) % 3 == 0) {
+            out.append('.');
+         }
+         out.append(digits.charAt(i));
+      }
+      out.append(',').append(digits, integerLength, digits.length());
+   }
+}
@@ -0,0 +1,65 @@
+package org.example.domain.campaign;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.example.domain.client.ClientRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+@Component
+class CampaignTemplateCache {
+   private final CampaignRepository campaignRepository;
+   private final LoadingCache<String, CompiledCampaign> campaigns;
+
+   CampaignTemplateCache(
+     CampaignRepository campaignRepository,
+     @Value("${campaign.template-cache.max-size:256}") long maxSize,
+     @Value("${campaign.template-cache.expire-after-access:PT1H}") Duration expireAfterAccess
+   ) {
+      this.campaignRepository = campaignRepository;
+      this.campaigns = Caffeine.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfterAccess(expireAfterAccess)
+        .build(this::load);
+   }
+
+   CompiledCampaign get(String campaignId) {
+      return campaigns.get(campaignId);
+   }
+
+   private CompiledCampaign load(String campaignId) {
+      return campaignRepository.findById(UUID.fromString(campaignId))
+        .map(CompiledCampaign::compile)
+        .orElse(null);
+   }
+
+   record CompiledCampaign(
+     Integer userId,
+     CampaignRecord.SendProfile sendProfile,
+     List<CampaignTemplate> parts
+   ) {
+      static CompiledCampaign compile(Campaign campaign) {
+         List<CampaignTemplate> parts = Stream.of(
+             campaign.getInitial(),
+             campaign.getPromotion(),
+             campaign.getInformation(),
+             campaign.getInvite()
+           )
+           .filter(part -> part != null && !part.isBlank())
+           .map(CampaignTemplate::compile)
+           .toList();
+         return new CompiledCampaign(campaign.getUserId(), campaign.getSendProfile(), parts);
+      }
+
+      String render(int part, ClientRecord.campaignTargetDTO client, StringBuilder buffer) {
+         buffer.setLength(0);
+         parts.get(part).renderTo(buffer, client);
+         return buffer.toString();
+      }
+   }
+}
@@ -1,44 +1,356 @@
 package org.example.domain.campaign;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
-import org.example.config.RedisQueueConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.example.domain.client.ClientRecord;
+import org.example.domain.client.ClientRepository;
+import org.example.exception.CustomExceptions;
+import org.example.exception.EvolutionCircuitOpenException;
+import org.example.service.EvolutionApiService.EvolutionApiRecord;
 import org.example.service.EvolutionApiService.EvolutionApiService;
+import org.example.service.EvolutionApiService.EvolutionCircuitBreaker;
+import org.example.service.WhatsAppQueue.WhatsAppQueue;
+import org.example.service.WhatsAppQueue.WhatsAppQueueRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.MessageSource;
-import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.context.SmartLifecycle;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Component
-@RequiredArgsConstructor
-public class WhatsAppMessageListener {
+public class WhatsAppMessageListener implements SmartLifecycle {
    private static final Logger logger = LoggerFactory.getLogger(WhatsAppMessageListener.class);
 
-   private final StringRedisTemplate redisTemplate;
+   private static final Duration POLL_ERROR_BACKOFF = Duration.ofSeconds(1);
+   private static final Duration IN_FLIGHT_DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+   private final WhatsAppQueue whatsAppQueue;
+   private final CampaignTemplateCache campaignTemplates;
+   private final ClientRepository clientRepository;
    private final EvolutionApiService evolutionApiService;
-   private final ObjectMapper objectMapper;
+   private final EvolutionCircuitBreaker circuitBreaker;
    private final MessageSource messageSource;
+   private final MeterRegistry meterRegistry;
+   private final int workerCount;
+   private final int maxInFlight;
+   private final Duration pollTimeout;
+   private final Duration throttleBackoff;
+   private final String nodeId = UUID.randomUUID().toString();
+
+   private final List<Thread> workers = new ArrayList<>();
+   private volatile boolean running;
 
-   @Scheduled(fixedDelayString = "PT1S")
-   public void processWhatsAppQueue() {
-      logger.trace(messageSource.getMessage("whatsapp.queue.check", null, Locale.getDefault()));
+   public WhatsAppMessageListener(
+     WhatsAppQueue whatsAppQueue,
+     CampaignTemplateCache campaignTemplates,
+     ClientRepository clientRepository,
+     EvolutionApiService evolutionApiService,
+     EvolutionCircuitBreaker circuitBreaker,
+     MessageSource messageSource,
+     MeterRegistry meterRegistry,
+     @Value("${whatsapp.consumer.workers:4}") int workerCount,
+     @Value("${whatsapp.consumer.max-in-flight:8}") int maxInFlight,
+     @Value("${whatsapp.consumer.poll-timeout:PT5S}") Duration pollTimeout,
+     @Value("${whatsapp.consumer.throttle-backoff:PT5S}") Duration throttleBackoff
+   ) {
+      this.whatsAppQueue = whatsAppQueue;
+      this.campaignTemplates = campaignTemplates;
+      this.clientRepository = clientRepository;
+      this.evolutionApiService = evolutionApiService;
+      this.circuitBreaker = circuitBreaker;
+      this.messageSource = messageSource;
+      this.meterRegistry = meterRegistry;
+      this.workerCount = workerCount;
+      this.maxInFlight = maxInFlight;
+      this.pollTimeout = pollTimeout;
+      this.throttleBackoff = throttleBackoff;
+   }
+
+   @Override
+   public synchronized void start() {
+      if (running) {
+         return;
+      }
+      running = true;
+      for (int i = 0; i < workerCount; i++) {
+         int workerId = i;
+         workers.add(Thread.ofVirtual()
+           .name("whatsapp-worker-" + workerId)
+           .start(() -> runWorker(workerId)));
+      }
+      logger.info(messageSource.getMessage("whatsapp.consumer.started", new Object[]{workerCount}, Locale.getDefault()));
+   }
+
+   @Override
+   public synchronized void stop() {
+      running = false;
+      // Workers drain concurrently, so they share one deadline instead of each getting the full timeout.
+      long deadline = System.nanoTime() + pollTimeout.plus(POLL_ERROR_BACKOFF).plus(IN_FLIGHT_DRAIN_TIMEOUT).toNanos();
       try {
-         String messageJson = redisTemplate.opsForList().leftPop(RedisQueueConfig.WHATSAPP_MESSAGES_QUEUE, 5, TimeUnit.SECONDS);
+         for (Thread worker : workers) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining > 0) {
+               worker.join(Duration.ofNanos(remaining));
+            }
+         }
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+      }
+      for (Thread worker : workers) {
+         if (worker.isAlive()) {
+            worker.interrupt();
+         }
+      }
+      workers.clear();
+      logger.info(messageSource.getMessage("whatsapp.consumer.stopped", null, Locale.getDefault()));
+   }
 
-         if (messageJson != null) {
-            logger.info(messageSource.getMessage("whatsapp.message.consumed", null, Locale.getDefault()));
-            CampaignRecord.WhatsAppMessage message = objectMapper.readValue(messageJson, CampaignRecord.WhatsAppMessage.class);
+   @Override
+   public boolean isRunning() {
+      return running;
+   }
+
+   private void runWorker(int workerId) {
+      String worker = String.valueOf(workerId);
+      String consumerId = nodeId + ":" + workerId;
+      Counter sent = meterRegistry.counter("whatsapp.consumer.messages", "worker", worker, "outcome", "sent");
+      Counter failed = meterRegistry.counter("whatsapp.consumer.messages", "worker", worker, "outcome", "failed");
+      Counter throttled = meterRegistry.counter("whatsapp.consumer.messages", "worker", worker, "outcome", "throttled");
+      Counter circuitOpen = meterRegistry.counter("whatsapp.consumer.messages", "worker", worker, "outcome", "circuit_open");
+      Counter partsSent = meterRegistry.counter("whatsapp.consumer.parts", "worker", worker, "outcome", "sent");
+      Timer sendTimer = meterRegistry.timer("whatsapp.consumer.send", "worker", worker);
 
-            evolutionApiService.sendMessage(message.phoneNumber(), message.text());
-            logger.debug(messageSource.getMessage("whatsapp.message.processed", new Object[]{message.phoneNumber()}, Locale.getDefault()));
+      Semaphore inFlight = new Semaphore(maxInFlight);
+      Set<CompletableFuture<Void>> sends = ConcurrentHashMap.newKeySet();
+      StringBuilder renderBuffer = new StringBuilder(256);
+
+      while (running) {
+         if (!circuitBreaker.allowsTraffic()) {
+            Duration pause = circuitBreaker.remainingOpenTime();
+            logger.debug(messageSource.getMessage("whatsapp.consumer.paused", new Object[]{workerId, circuitBreaker.getState()}, Locale.getDefault()));
+            if (!sleep(pause.isZero() || pause.compareTo(pollTimeout) > 0 ? POLL_ERROR_BACKOFF : pause)) {
+               break;
+            }
+            continue;
          }
+
+         try {
+            inFlight.acquire();
+         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            break;
+         }
+
+         WhatsAppQueueRecord.Delivery delivery;
+         try {
+            logger.trace(messageSource.getMessage("whatsapp.queue.check", null, Locale.getDefault()));
+            delivery = whatsAppQueue.poll(consumerId, pollTimeout);
+         } catch (Exception e) {
+            inFlight.release();
+            if (!running) {
+               break;
+            }
+            logger.error(messageSource.getMessage("whatsapp.queue.poll.error", new Object[]{workerId, e.getMessage()}, Locale.getDefault()));
+            if (!sleep(POLL_ERROR_BACKOFF)) {
+               break;
+            }
+            continue;
+         }
+
+         if (delivery == null) {
+            inFlight.release();
+            continue;
+         }
+
+         Recipient recipient = resolve(delivery);
+         if (recipient == null) {
+            inFlight.release();
+            continue;
+         }
+
+         CampaignRecord.WhatsAppMessage message = delivery.message();
+         long delayMillis = recipient.campaign().sendProfile().delayMillis();
+         int totalParts = recipient.campaign().parts().size();
+
+         logger.info(messageSource.getMessage("whatsapp.message.consumed", null, Locale.getDefault()));
+         int batch = delayMillis > 0 ? 1 : totalParts - message.nextPart();
+         AtomicInteger sentParts = new AtomicInteger();
+         Timer.Sample sample = Timer.start(meterRegistry);
+         CompletableFuture<Void> send = sendParts(message, recipient, batch, sentParts, renderBuffer)
+           .whenComplete((result, error) -> {
+              sample.stop(sendTimer);
+              try {
+                 partsSent.increment(sentParts.get());
+                 CampaignRecord.WhatsAppMessage remaining = message.advancedBy(sentParts.get());
+                 if (error == null) {
+                    sent.increment();
+                    if (remaining.nextPart() < totalParts) {
+                       defer(delivery, remaining.scheduledAt(System.currentTimeMillis() + delayMillis));
+                    } else {
+                       whatsAppQueue.ack(delivery);
+                       logger.debug(messageSource.getMessage("whatsapp.message.processed", new Object[]{recipient.client().phoneNumber()}, Locale.getDefault()));
+                    }
+                 } else {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    CampaignRecord.WhatsAppMessage pending = sentParts.get() > 0 ? remaining : message;
+                    if (cause instanceof CustomExceptions.RateLimitExceededException) {
+                       // Local throttling is not a delivery failure, so it must not use up an attempt.
+                       throttled.increment();
+                       logger.warn(messageSource.getMessage("whatsapp.message.throttled", new Object[]{message.clientId(), throttleBackoff}, Locale.getDefault()));
+                       defer(delivery, pending.scheduledAt(System.currentTimeMillis() + throttleBackoff.toMillis()));
+                       return;
+                    }
+                    if (cause instanceof EvolutionCircuitOpenException rejected) {
+                       // Same for the breaker: the request never reached the API.
+                       circuitOpen.increment();
+                       Duration wait = rejected.getRetryAfter().compareTo(POLL_ERROR_BACKOFF) > 0 ? rejected.getRetryAfter() : POLL_ERROR_BACKOFF;
+                       logger.warn(messageSource.getMessage("whatsapp.message.circuitOpen", new Object[]{message.clientId(), wait}, Locale.getDefault()));
+                       defer(delivery, pending.scheduledAt(System.currentTimeMillis() + wait.toMillis()));
+                       return;
+                    }
+                    failed.increment();
+                    logger.error(messageSource.getMessage("whatsapp.message.error", new Object[]{cause.getMessage()}, Locale.getDefault()));
+                    if (sentParts.get() > 0) {
+                       defer(delivery, remaining.scheduledAt(System.currentTimeMillis()));
+                    } else {
+                       retry(delivery);
+                    }
+                 }
+              } catch (Exception e) {
+                 logger.error(messageSource.getMessage("whatsapp.message.ack.error", new Object[]{e.getMessage()}, Locale.getDefault()));
+              } finally {
+                 inFlight.release();
+              }
+           });
+         sends.add(send);
+         send.whenComplete((result, error) -> sends.remove(send));
+      }
+
+      boolean drained = false;
+      try {
+         drained = inFlight.tryAcquire(maxInFlight, IN_FLIGHT_DRAIN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+      }
+
+      if (drained) {
+         release(consumerId);
+      } else {
+         // Releasing now would put back entries whose sends are still running, so wait for them to settle.
+         logger.warn(messageSource.getMessage("whatsapp.consumer.drain.timeout", new Object[]{consumerId}, Locale.getDefault()));
+         CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).whenComplete((result, error) -> release(consumerId));
+      }
+   }
+
+   private void release(String consumerId) {
+      try {
+         whatsAppQueue.release(consumerId);
+      } catch (Exception e) {
+         logger.warn(messageSource.getMessage("whatsapp.consumer.release.error", new Object[]{consumerId, e.getMessage()}, Locale.getDefault()));
+      }
+   }
+
+   private void retry(WhatsAppQueueRecord.Delivery delivery) {
+      try {
+         whatsAppQueue.retry(delivery);
+      } catch (Exception e) {
+         logger.error(messageSource.getMessage("whatsapp.message.retry.error", new Object[]{e.getMessage()}, Locale.getDefault()));
+      }
+   }
+
+   private Recipient resolve(WhatsAppQueueRecord.Delivery delivery) {
+      CampaignRecord.WhatsAppMessage message = delivery.message();
+      try {
+         CampaignTemplateCache.CompiledCampaign campaign = campaignTemplates.get(message.campaignId());
+         if (campaign == null || message.nextPart() >= campaign.parts().size()) {
+            logger.warn(messageSource.getMessage("whatsapp.message.campaignNotFound", new Object[]{message.campaignId(), message.clientId()}, Locale.getDefault()));
+            whatsAppQueue.ack(delivery);
+            return null;
+         }
+
+         long delayMillis = campaign.sendProfile().delayMillis();
+         if (message.notBefore() == null && delayMillis > 0) {
+            defer(delivery, message.scheduledAt(System.currentTimeMillis() + delayMillis));
+            return null;
+         }
+
+         ClientRecord.campaignTargetDTO client = clientRepository
+           .findTargetByIdAndUserId(message.clientId(), Long.valueOf(campaign.userId()))
+           .orElse(null);
+         if (client == null) {
+            logger.warn(messageSource.getMessage("whatsapp.message.clientNotFound", new Object[]{message.clientId(), message.campaignId()}, Locale.getDefault()));
+            whatsAppQueue.ack(delivery);
+            return null;
+         }
+         return new Recipient(campaign, client);
       } catch (Exception e) {
          logger.error(messageSource.getMessage("whatsapp.message.error", new Object[]{e.getMessage()}, Locale.getDefault()));
+         retry(delivery);
+         return null;
+      }
+   }
+
+   private CompletableFuture<Void> sendParts(
+     CampaignRecord.WhatsAppMessage message,
+     Recipient recipient,
+     int count,
+     AtomicInteger sentParts,
+     StringBuilder renderBuffer
+   ) {
+      EvolutionApiRecord.SendMessageOptions options = recipient.campaign().sendProfile().toOptions();
+      String phoneNumber = recipient.client().phoneNumber();
+      // Render on the worker thread so its buffer is reused; the sends complete on other threads.
+      String[] texts = new String[count];
+      for (int i = 0; i < count; i++) {
+         texts[i] = recipient.campaign().render(message.nextPart() + i, recipient.client(), renderBuffer);
+      }
+
+      CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+      for (String text : texts) {
+         chain = chain
+           .thenCompose(ignored -> evolutionApiService.sendMessageAsync(phoneNumber, text, options))
+           .thenRun(sentParts::incrementAndGet);
+      }
+      return chain;
+   }
+
+   private void defer(WhatsAppQueueRecord.Delivery delivery, CampaignRecord.WhatsAppMessage scheduled) {
+      try {
+         whatsAppQueue.defer(delivery, scheduled);
+         logger.debug(messageSource.getMessage("whatsapp.message.deferred", new Object[]{scheduled.campaignId(), scheduled.clientId(), scheduled.notBefore() - System.currentTimeMillis()}, Locale.getDefault()));
+      } catch (Exception e) {
+         logger.error(messageSource.getMessage("whatsapp.message.defer.error", new Object[]{e.getMessage()}, Locale.getDefault()));
+         retry(delivery);
+      }
+   }
+
+   private boolean sleep(Duration duration) {
+      try {
+         Thread.sleep(duration);
+         return true;
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         return false;
       }
    }
+
+   private record Recipient(
+     CampaignTemplateCache.CompiledCampaign campaign,
+     ClientRecord.campaignTargetDTO client
+   ) {}
 }
@@ -5,12 +5,17 @@ import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import org.example.exception.CustomExceptions;
 import org.springframework.context.MessageSource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.nio.file.Path;
 import java.util.Locale;
 
 @RestController
@@ -31,25 +36,49 @@ public class ClientController {
         }
     }
 
-    @ResponseStatus(HttpStatus.OK)
+    @ResponseStatus(HttpStatus.ACCEPTED)
     @PostMapping("/import-clients")
-    public ResponseEntity<String> importClients(
+    public ResponseEntity<ClientRecord.importJobDTO> importClients(
       @RequestParam("file") MultipartFile file,
-      @RequestParam("userId") Long userId
+      @RequestParam("userId") Long userId,
+      @RequestParam(value = "mode", defaultValue = "BATCH") ClientRecord.ImportMode mode
     ) {
         try {
             if (file == null || file.isEmpty()) {
                 throw new CustomExceptions.FileUploadException("Arquivo de importação não fornecido ou vazio");
             }
-            clientService.importClientsCSV(file, userId);
-            return ResponseEntity.ok(messageSource.getMessage("client.deleted", null, Locale.getDefault()));
-        } catch (CustomExceptions.FileUploadException e) {
+            String jobId = clientService.scheduleClientsImport(file, userId, mode);
+            return ResponseEntity.accepted().body(new ClientRecord.importJobDTO(
+              jobId,
+              messageSource.getMessage("client.import.queued", null, Locale.getDefault())
+            ));
+        } catch (CustomExceptions.FileUploadException | CustomExceptions.ResourceNotFoundException e) {
             throw e;
         } catch (Exception e) {
             throw new CustomExceptions.FileUploadException("Erro ao importar clientes: " + e.getMessage());
         }
     }
 
+    @GetMapping("/import-clients/{jobId}")
+    public ResponseEntity<ClientRecord.importJobStatusDTO> getImportJob(
+      @PathVariable String jobId,
+      @RequestParam("userId") Long userId
+    ) {
+        return ResponseEntity.ok(clientService.getImportJob(jobId, userId));
+    }
+
+    @GetMapping("/import-clients/{jobId}/rejected")
+    public ResponseEntity<Resource> downloadRejectedRows(
+      @PathVariable String jobId,
+      @RequestParam("userId") Long userId
+    ) {
+        Path rejected = clientService.getImportRejectedFile(jobId, userId);
+        return ResponseEntity.ok()
+          .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + rejected.getFileName() + "\"")
+          .contentType(MediaType.parseMediaType("text/csv"))
+          .body(new FileSystemResource(rejected));
+    }
+
     @ResponseStatus(HttpStatus.OK)
     @PatchMapping("/edit-client/{id}")
     public ResponseEntity<ClientRecord.clientListDTO> editClient(
@@ -0,0 +1,448 @@
+package org.example.domain.client;
+
+import com.opencsv.CSVReader;
+import com.opencsv.CSVWriter;
+import com.opencsv.exceptions.CsvMalformedLineException;
+import com.opencsv.exceptions.CsvValidationException;
+import jakarta.annotation.PostConstruct;
+import org.example.domain.user.User;
+import org.example.domain.user.UserRepository;
+import org.example.service.CSV.CsvHeaderAliasService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+
+@Component
+public class ClientCsvImporter {
+   private static final Logger log = LoggerFactory.getLogger(ClientCsvImporter.class);
+   private static final String ERROR_COLUMN = "erro";
+   private static final String DUPLICATE_PHONE = "Telefone já cadastrado";
+   private static final String INVALID_PHONE = "Telefone inválido";
+   private static final String FOREIGN_PHONE = "Telefone pertence a outro usuário";
+   private static final String PHONE_TOO_LONG = "Telefone excede " + ClientJdbcRepository.PHONE_NUMBER_LENGTH + " caracteres";
+
+   private final UserRepository userRepository;
+   private final ClientJdbcRepository clientJdbcRepository;
+   private final CsvHeaderAliasService headerAliasService;
+   private final ClientImportJobTracker importJobTracker;
+   private final TransactionTemplate transactionTemplate;
+   private final Path spoolDir;
+   private final Executor validationExecutor;
+   private final int pipelineDepth;
+   private final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+   @Value("${client.import.batch-size:1000}")
+   private int importBatchSize;
+
+   @Value("${client.import.dedup-window:100000}")
+   private int dedupWindow;
+
+   public ClientCsvImporter(
+     UserRepository userRepository,
+     ClientJdbcRepository clientJdbcRepository,
+     CsvHeaderAliasService headerAliasService,
+     ClientImportJobTracker importJobTracker,
+     TransactionTemplate transactionTemplate,
+     @Qualifier("importValidationExecutor") Executor validationExecutor,
+     @Value("${client.import.spool-dir:${java.io.tmpdir}/client-imports}") String spoolDir,
+     @Value("${client.import.pipeline-depth:0}") int pipelineDepth
+   ) {
+      this.userRepository = userRepository;
+      this.clientJdbcRepository = clientJdbcRepository;
+      this.headerAliasService = headerAliasService;
+      this.importJobTracker = importJobTracker;
+      this.transactionTemplate = transactionTemplate;
+      this.spoolDir = Paths.get(spoolDir);
+      this.validationExecutor = validationExecutor;
+      this.pipelineDepth = pipelineDepth > 0 ? pipelineDepth : Runtime.getRuntime().availableProcessors() * 2;
+   }
+
+   @PostConstruct
+   void createSpoolDir() throws IOException {
+      Files.createDirectories(spoolDir);
+   }
+
+   public Path sourceFile(String jobId) {
+      return spoolDir.resolve(jobId + ".csv");
+   }
+
+   public Path rejectedFile(String jobId) {
+      return spoolDir.resolve(jobId + ".rejected.csv");
+   }
+
+   public void run(String jobId, Long userId, ClientRecord.ImportMode mode) {
+      importJobTracker.start(jobId);
+      Path source = sourceFile(jobId);
+
+      try (CSVReader reader = new CSVReader(Files.newBufferedReader(source, StandardCharsets.UTF_8));
+           CSVWriter rejected = new CSVWriter(Files.newBufferedWriter(rejectedFile(jobId), StandardCharsets.UTF_8))) {
+         User userEntity = userRepository.findById(userId)
+           .orElseThrow(() -> new IllegalStateException("User not found with ID: " + userId));
+
+         String[] header = reader.readNext();
+         if (header == null) {
+            throw new IllegalArgumentException("CSV empty or without header.");
+         }
+         Map<String, Integer> columnIndex = resolveColumns(header, userEntity.getCompany().getId());
+         rejected.writeNext(withError(header, ERROR_COLUMN));
+
+         BlockingQueue<CompletableFuture<ValidatedBatch>> validated = new ArrayBlockingQueue<>(pipelineDepth);
+         Thread readerThread = Thread.ofVirtual()
+           .name("client-import-reader-" + jobId)
+           .start(() -> readBatches(reader, columnIndex, userEntity, validated));
+         try {
+            ImportProgress progress = new ImportProgress(dedupWindow);
+            ValidatedBatch batch;
+            while ((batch = validated.take().join()) != ValidatedBatch.END) {
+               progress.parsed += batch.parsed();
+               for (String[] row : batch.rejected()) {
+                  rejected.writeNext(row);
+               }
+               progress.rejected += batch.rejected().size();
+               if (!batch.rows().isEmpty()) {
+                  writeChunk(userId, mode, batch.rows(), rejected, progress);
+               }
+               flushProgress(jobId, progress);
+            }
+         } finally {
+            readerThread.interrupt();
+            readerThread.join();
+         }
+
+         importJobTracker.finish(jobId, ClientRecord.ImportStatus.COMPLETED, null);
+         log.info("Import job {} finished for user ID: {} using {} mode", jobId, userId, mode);
+      } catch (Exception e) {
+         log.error("Import job {} failed for user ID: {}. Error: {}", jobId, userId, e.getMessage());
+         importJobTracker.finish(jobId, ClientRecord.ImportStatus.FAILED, e.getMessage());
+      } finally {
+         deleteQuietly(source);
+      }
+   }
+
+   private void readBatches(
+     CSVReader reader,
+     Map<String, Integer> columnIndex,
+     User userEntity,
+     BlockingQueue<CompletableFuture<ValidatedBatch>> validated
+   ) {
+      try {
+         try {
+            List<SourceLine> lines = new ArrayList<>(importBatchSize);
+            List<String[]> malformed = new ArrayList<>();
+            while (true) {
+               // Physical line, so quoted fields spanning several lines and skipped malformed ones don't shift it.
+               long lineNumber = reader.getLinesRead() + 1;
+               String[] line;
+               try {
+                  line = reader.readNext();
+               } catch (CsvValidationException e) {
+                  String[] raw = e.getLine() != null ? e.getLine() : new String[0];
+                  malformed.add(withError(raw, "Linha " + e.getLineNumber() + ": " + e.getMessage()));
+                  continue;
+               } catch (CsvMalformedLineException e) {
+                  // Usually an unterminated quote; the reader has consumed the rest of the file.
+                  malformed.add(withError(new String[] {e.getContext()}, "Linha " + e.getLineNumber() + ": " + e.getMessage()));
+                  continue;
+               }
+               if (line == null) {
+                  break;
+               }
+               lines.add(new SourceLine(lineNumber, line));
+               if (lines.size() >= importBatchSize) {
+                  validated.put(validateAsync(lines, malformed, columnIndex, userEntity));
+                  lines = new ArrayList<>(importBatchSize);
+                  malformed = new ArrayList<>();
+               }
+            }
+            if (!lines.isEmpty() || !malformed.isEmpty()) {
+               validated.put(validateAsync(lines, malformed, columnIndex, userEntity));
+            }
+            validated.put(CompletableFuture.completedFuture(ValidatedBatch.END));
+         } catch (IOException | RuntimeException e) {
+            validated.put(CompletableFuture.failedFuture(e));
+         }
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+      }
+   }
+
+   private CompletableFuture<ValidatedBatch> validateAsync(
+     List<SourceLine> lines,
+     List<String[]> malformed,
+     Map<String, Integer> columnIndex,
+     User userEntity
+   ) {
+      return CompletableFuture.supplyAsync(() -> {
+         List<ParsedRow> rows = new ArrayList<>(lines.size());
+         List<String[]> rejected = new ArrayList<>(malformed);
+         for (SourceLine line : lines) {
+            try {
+               rows.add(new ParsedRow(line.fields(), parseClient(line.fields(), columnIndex, userEntity)));
+            } catch (Exception e) {
+               rejected.add(withError(line.fields(), "Linha " + line.number() + ": " + e.getMessage()));
+            }
+         }
+         return new ValidatedBatch(lines.size() + malformed.size(), rows, rejected);
+      }, validationExecutor);
+   }
+
+   @Scheduled(fixedDelayString = "${client.import.cleanup-interval:PT1H}")
+   public void purgeExpiredFiles() {
+      Instant cutoff = Instant.now().minus(ClientImportJobTracker.JOB_TTL);
+      try (Stream<Path> files = Files.list(spoolDir)) {
+         files.filter(file -> isOlderThan(file, cutoff)).forEach(this::deleteQuietly);
+      } catch (IOException e) {
+         log.warn("Failed to purge expired import files in {}. Error: {}", spoolDir, e.getMessage());
+      }
+   }
+
+   private Map<String, Integer> resolveColumns(String[] header, Integer companyId) {
+      Map<String, Integer> columnIndex = new HashMap<>();
+      for (int i = 0; i < header.length; i++) {
+         String canonical = headerAliasService.resolveCanonical(companyId, header[i]);
+         if (canonical != null) {
+            columnIndex.putIfAbsent(canonical, i);
+         }
+      }
+
+      List<String> missing = headerAliasService.requiredFields().stream()
+        .filter(f -> !columnIndex.containsKey(f))
+        .toList();
+      if (!missing.isEmpty()) {
+         throw new IllegalArgumentException("Missing required fields: " + missing);
+      }
+      return columnIndex;
+   }
+
+   private Client parseClient(String[] line, Map<String, Integer> columnIndex, User userEntity) {
+      String phoneNumber = line[columnIndex.get("phonenumber")];
+      if (phoneNumber.length() > ClientJdbcRepository.PHONE_NUMBER_LENGTH) {
+         throw new IllegalArgumentException(PHONE_TOO_LONG);
+      }
+
+      Integer emailIndex = columnIndex.get("email");
+      String email = emailIndex != null && emailIndex < line.length && !line[emailIndex].isBlank() ? line[emailIndex] : null;
+
+      ClientRecord.importClientsDTO dto = ClientRecord.importClientsDTO.builder()
+        .name(line[columnIndex.get("name")])
+        .phoneNumber(phoneNumber)
+        .product(line[columnIndex.get("product")])
+        .amount(new BigDecimal(line[columnIndex.get("amount")]))
+        .lastPurchase(LocalDate.parse(line[columnIndex.get("lastpurchase")], dateFormatter))
+        .email(email)
+        .build();
+
+      Client client = new Client(dto, userEntity);
+      client.setActive(true);
+      return client;
+   }
+
+   private void writeChunk(Long userId, ClientRecord.ImportMode mode, List<ParsedRow> chunk, CSVWriter rejected, ImportProgress progress) {
+      switch (mode) {
+         case BATCH, COPY -> insertChunk(userId, mode, chunk, rejected, progress);
+         case UPSERT -> upsertChunk(userId, chunk, rejected, progress);
+      }
+   }
+
+   private void insertChunk(Long userId, ClientRecord.ImportMode mode, List<ParsedRow> chunk, CSVWriter rejected, ImportProgress progress) {
+      List<Client> clients = chunk.stream().map(ParsedRow::client).toList();
+      boolean[] inserted;
+      try {
+         if (mode == ClientRecord.ImportMode.BATCH) {
+            inserted = insertedRows(transactionTemplate.execute(status -> clientJdbcRepository.insertAll(userId, clients)));
+         } else {
+            inserted = insertedRows(clients, transactionTemplate.execute(status -> {
+               // No-op after the first chunk on a given connection.
+               clientJdbcRepository.createStagingTable();
+               clientJdbcRepository.copyToStagingTable(userId, clients);
+               return clientJdbcRepository.mergeStagingTable();
+            }));
+         }
+      } catch (DataAccessException e) {
+         rejectChunk(userId, chunk, rejected, progress, e);
+         return;
+      }
+
+      for (int i = 0; i < chunk.size(); i++) {
+         if (inserted[i]) {
+            progress.inserted++;
+         } else {
+            rejected.writeNext(withError(chunk.get(i).line(), DUPLICATE_PHONE));
+            progress.rejected++;
+         }
+      }
+   }
+
+   private void upsertChunk(Long userId, List<ParsedRow> chunk, CSVWriter rejected, ImportProgress progress) {
+      List<ParsedRow> unique = new ArrayList<>(chunk.size());
+      List<String> phoneKeys = new ArrayList<>(chunk.size());
+      for (ParsedRow row : chunk) {
+         String phoneKey = normalizePhone(row.client().getPhoneNumber());
+         if (phoneKey.isEmpty()) {
+            rejected.writeNext(withError(row.line(), INVALID_PHONE));
+            progress.rejected++;
+         } else if (!progress.seenPhones.add(phoneKey)) {
+            progress.skipped++;
+         } else {
+            unique.add(row);
+            phoneKeys.add(phoneKey);
+         }
+      }
+      if (unique.isEmpty()) {
+         return;
+      }
+
+      List<Client> clients = unique.stream().map(ParsedRow::client).toList();
+      Map<String, ClientJdbcRepository.UpsertOutcome> written;
+      try {
+         written = transactionTemplate.execute(status -> clientJdbcRepository.upsertAll(userId, clients, phoneKeys));
+      } catch (DataAccessException e) {
+         rejectChunk(userId, unique, rejected, progress, e);
+         return;
+      }
+
+      for (int i = 0; i < unique.size(); i++) {
+         ClientJdbcRepository.UpsertOutcome outcome = written.get(phoneKeys.get(i));
+         if (outcome == null) {
+            progress.skipped++;
+            continue;
+         }
+         switch (outcome) {
+            case INSERTED -> progress.inserted++;
+            case UPDATED -> progress.updated++;
+            case OWNED_BY_OTHER -> {
+               rejected.writeNext(withError(unique.get(i).line(), FOREIGN_PHONE));
+               progress.rejected++;
+            }
+         }
+      }
+   }
+
+   private void rejectChunk(Long userId, List<ParsedRow> chunk, CSVWriter rejected, ImportProgress progress, DataAccessException e) {
+      String error = e.getMostSpecificCause().getMessage();
+      log.warn("Failed to write a chunk of {} clients for user ID: {}. Error: {}", chunk.size(), userId, error);
+      for (ParsedRow row : chunk) {
+         rejected.writeNext(withError(row.line(), error));
+      }
+      progress.rejected += chunk.size();
+   }
+
+   private String normalizePhone(String phoneNumber) {
+      if (phoneNumber == null) {
+         return "";
+      }
+      StringBuilder digits = new StringBuilder(phoneNumber.length());
+      for (int i = 0; i < phoneNumber.length(); i++) {
+         char c = phoneNumber.charAt(i);
+         if (c >= '0' && c <= '9') {
+            digits.append(c);
+         }
+      }
+      return digits.toString();
+   }
+
+   private boolean[] insertedRows(int[] counts) {
+      boolean[] inserted = new boolean[counts.length];
+      for (int i = 0; i < counts.length; i++) {
+         inserted[i] = counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO;
+      }
+      return inserted;
+   }
+
+   private boolean[] insertedRows(List<Client> clients, List<String> insertedPhones) {
+      Set<String> remaining = new HashSet<>(insertedPhones);
+      boolean[] inserted = new boolean[clients.size()];
+      for (int i = 0; i < clients.size(); i++) {
+         inserted[i] = remaining.remove(clients.get(i).getPhoneNumber());
+      }
+      return inserted;
+   }
+
+   private void flushProgress(String jobId, ImportProgress progress) {
+      importJobTracker.recordProgress(jobId, progress.parsed, progress.inserted, progress.updated, progress.skipped, progress.rejected);
+      progress.parsed = 0;
+      progress.inserted = 0;
+      progress.updated = 0;
+      progress.skipped = 0;
+      progress.rejected = 0;
+   }
+
+   private String[] withError(String[] line, String error) {
+      String[] row = Arrays.copyOf(line, line.length + 1);
+      row[line.length] = error;
+      return row;
+   }
+
+   private boolean isOlderThan(Path file, Instant cutoff) {
+      try {
+         return Files.getLastModifiedTime(file).toInstant().isBefore(cutoff);
+      } catch (IOException e) {
+         return false;
+      }
+   }
+
+   private void deleteQuietly(Path file) {
+      try {
+         Files.deleteIfExists(file);
+      } catch (IOException e) {
+         log.warn("Failed to delete import file {}. Error: {}", file, e.getMessage());
+      }
+   }
+
+   private record SourceLine(long number, String[] fields) {}
+
+   private record ParsedRow(String[] line, Client client) {}
+
+   private record ValidatedBatch(int parsed, List<ParsedRow> rows, List<String[]> rejected) {
+      static final ValidatedBatch END = new ValidatedBatch(0, List.of(), List.of());
+   }
+
+   private static class ImportProgress {
+      // Most recently seen phones only; duplicates further apart fall through to the upsert's own change check.
+      final Set<String> seenPhones;
+      long parsed;
+      long inserted;
+      long updated;
+      long skipped;
+      long rejected;
+
+      ImportProgress(int dedupWindow) {
+         this.seenPhones = Collections.newSetFromMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+               return size() > dedupWindow;
+            }
+         });
+      }
+   }
+}
@@ -0,0 +1,104 @@
+package org.example.domain.client;
+
+import lombok.RequiredArgsConstructor;
+import org.example.config.RedisQueueConfig;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Component
+@RequiredArgsConstructor
+public class ClientImportJobTracker {
+   public static final Duration JOB_TTL = Duration.ofDays(1);
+
+   private static final String USER_ID = "userId";
+   private static final String MODE = "mode";
+   private static final String STATUS = "status";
+   private static final String PARSED = "parsed";
+   private static final String INSERTED = "inserted";
+   private static final String UPDATED = "updated";
+   private static final String SKIPPED = "skipped";
+   private static final String REJECTED = "rejected";
+   private static final String ERROR = "error";
+
+   // One script so a poll never sees some counters of a chunk applied and others not; an expired job
+   // is left alone rather than recreated without a TTL.
+   private static final RedisScript<Long> RECORD_PROGRESS = new DefaultRedisScript<>("""
+     if redis.call('EXISTS', KEYS[1]) == 0 then
+        return 0
+     end
+     for i = 1, #ARGV, 2 do
+        if tonumber(ARGV[i + 1]) ~= 0 then
+           redis.call('HINCRBY', KEYS[1], ARGV[i], ARGV[i + 1])
+        end
+     end
+     return 1
+     """, Long.class);
+
+   private final StringRedisTemplate redisTemplate;
+
+   public void create(String jobId, Long userId, ClientRecord.ImportMode mode) {
+      String key = key(jobId);
+      redisTemplate.opsForHash().putAll(key, Map.of(
+        USER_ID, String.valueOf(userId),
+        MODE, mode.name(),
+        STATUS, ClientRecord.ImportStatus.QUEUED.name(),
+        PARSED, "0",
+        INSERTED, "0",
+        UPDATED, "0",
+        SKIPPED, "0",
+        REJECTED, "0"
+      ));
+      redisTemplate.expire(key, JOB_TTL);
+   }
+
+   public void start(String jobId) {
+      redisTemplate.opsForHash().put(key(jobId), STATUS, ClientRecord.ImportStatus.RUNNING.name());
+   }
+
+   public void recordProgress(String jobId, long parsed, long inserted, long updated, long skipped, long rejected) {
+      redisTemplate.execute(RECORD_PROGRESS, List.of(key(jobId)),
+        PARSED, String.valueOf(parsed),
+        INSERTED, String.valueOf(inserted),
+        UPDATED, String.valueOf(updated),
+        SKIPPED, String.valueOf(skipped),
+        REJECTED, String.valueOf(rejected));
+   }
+
+   public void finish(String jobId, ClientRecord.ImportStatus status, String error) {
+      if (error == null) {
+         redisTemplate.opsForHash().put(key(jobId), STATUS, status.name());
+         return;
+      }
+      redisTemplate.opsForHash().putAll(key(jobId), Map.of(STATUS, status.name(), ERROR, error));
+   }
+
+   public Optional<ClientRecord.importJobStatusDTO> find(String jobId, Long userId) {
+      Map<Object, Object> entries = redisTemplate.opsForHash().entries(key(jobId));
+      if (entries.isEmpty() || !String.valueOf(userId).equals(entries.get(USER_ID))) {
+         return Optional.empty();
+      }
+
+      return Optional.of(new ClientRecord.importJobStatusDTO(
+        jobId,
+        ClientRecord.ImportStatus.valueOf((String) entries.get(STATUS)),
+        ClientRecord.ImportMode.valueOf((String) entries.get(MODE)),
+        Long.parseLong((String) entries.get(PARSED)),
+        Long.parseLong((String) entries.get(INSERTED)),
+        Long.parseLong((String) entries.get(UPDATED)),
+        Long.parseLong((String) entries.get(SKIPPED)),
+        Long.parseLong((String) entries.get(REJECTED)),
+        (String) entries.get(ERROR)
+      ));
+   }
+
+   private String key(String jobId) {
+      return RedisQueueConfig.CLIENT_IMPORT_JOB_PREFIX + jobId;
+   }
+}
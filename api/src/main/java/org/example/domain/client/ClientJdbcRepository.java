@@ -0,0 +1,223 @@
+package org.example.domain.client;
+
+import lombok.RequiredArgsConstructor;
+import org.postgresql.copy.CopyManager;
+import org.postgresql.core.BaseConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@RequiredArgsConstructor
+public class ClientJdbcRepository {
+   private static final String INSERT_CLIENT = """
+     INSERT INTO clients (user_id, name, email, phone_number, product, amount, active, last_purchase, created_at)
+     VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+     ON CONFLICT (phone_number) DO NOTHING
+     """;
+
+   // Session-scoped: created once per pooled connection and emptied on every commit.
+   private static final String CREATE_STAGING_TABLE = """
+     CREATE TEMP TABLE IF NOT EXISTS clients_import (
+         user_id       INTEGER,
+         name          VARCHAR(255),
+         email         VARCHAR(255),
+         phone_number  VARCHAR(14),
+         product       VARCHAR(155),
+         amount        DECIMAL(10, 2),
+         active        BOOL,
+         last_purchase DATE
+     ) ON COMMIT DELETE ROWS
+     """;
+
+   private static final String COPY_TO_STAGING = """
+     COPY clients_import (user_id, name, email, phone_number, product, amount, active, last_purchase)
+     FROM STDIN WITH (FORMAT csv)
+     """;
+
+   private static final String MERGE_STAGING = """
+     INSERT INTO clients (user_id, name, email, phone_number, product, amount, active, last_purchase, created_at)
+     SELECT user_id, name, email, phone_number, product, amount, active, last_purchase, CURRENT_TIMESTAMP
+     FROM clients_import
+     ON CONFLICT (phone_number) DO NOTHING
+     RETURNING phone_number
+     """;
+
+   // Existing rows are matched on the digits of phone_number (see idx_clients_phone_digits),
+   // so numbers stored with formatting are still found; stored values are never rewritten.
+   private static final String UPSERT_CLIENTS = """
+     WITH owner AS (
+         SELECT ?::integer AS user_id
+     ),
+     input AS (
+         SELECT DISTINCT ON (t.phone_key) t.*
+         FROM unnest(?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[], ?::numeric[], ?::date[])
+              WITH ORDINALITY AS t(name, email, phone_number, phone_key, product, amount, last_purchase, ord)
+         ORDER BY t.phone_key, t.ord
+     ),
+     matched AS (
+         SELECT DISTINCT ON (i.phone_key) i.*, c.id AS client_id, c.user_id AS owner_id,
+                (c.name, c.email, c.product, c.amount, c.active, c.last_purchase)
+                    IS DISTINCT FROM (i.name, i.email, i.product, i.amount, TRUE, i.last_purchase) AS changed
+         FROM input i
+         CROSS JOIN owner o
+         LEFT JOIN clients c ON regexp_replace(c.phone_number, '\\D', '', 'g') = i.phone_key
+         ORDER BY i.phone_key, (c.user_id = o.user_id) DESC NULLS LAST, c.id
+     ),
+     updated AS (
+         UPDATE clients c SET
+             name = m.name,
+             email = m.email,
+             product = m.product,
+             amount = m.amount,
+             active = TRUE,
+             last_purchase = m.last_purchase
+         FROM matched m, owner o
+         WHERE c.id = m.client_id AND m.owner_id = o.user_id AND m.changed
+         RETURNING m.phone_key
+     ),
+     inserted AS (
+         INSERT INTO clients (user_id, name, email, phone_number, product, amount, active, last_purchase, created_at)
+         SELECT o.user_id, m.name, m.email, m.phone_number, m.product, m.amount, TRUE, m.last_purchase, CURRENT_TIMESTAMP
+         FROM matched m, owner o
+         WHERE m.client_id IS NULL
+         ON CONFLICT (phone_number) DO NOTHING
+         RETURNING regexp_replace(phone_number, '\\D', '', 'g') AS phone_key
+     )
+     SELECT phone_key, 'INSERTED' AS outcome FROM inserted
+     UNION ALL
+     SELECT phone_key, 'UPDATED' FROM updated
+     UNION ALL
+     SELECT m.phone_key, 'OWNED_BY_OTHER' FROM matched m, owner o WHERE m.owner_id <> o.user_id
+     """;
+
+   public static final int PHONE_NUMBER_LENGTH = 14;
+
+   private final JdbcTemplate jdbcTemplate;
+
+   public int[] insertAll(Long userId, List<Client> clients) {
+      Timestamp createdAt = Timestamp.from(Instant.now());
+      int[][] counts = jdbcTemplate.batchUpdate(INSERT_CLIENT, clients, clients.size(), (ps, client) -> {
+         ps.setLong(1, userId);
+         ps.setString(2, client.getName());
+         ps.setString(3, client.getEmail());
+         ps.setString(4, client.getPhoneNumber());
+         ps.setString(5, client.getProduct());
+         ps.setBigDecimal(6, client.getAmount());
+         ps.setBoolean(7, Boolean.TRUE.equals(client.getActive()));
+         if (client.getLastPurchase() != null) {
+            ps.setDate(8, Date.valueOf(client.getLastPurchase()));
+         } else {
+            ps.setNull(8, Types.DATE);
+         }
+         ps.setTimestamp(9, createdAt);
+      });
+      return counts.length > 0 ? counts[0] : new int[0];
+   }
+
+   public void createStagingTable() {
+      jdbcTemplate.execute(CREATE_STAGING_TABLE);
+   }
+
+   public void copyToStagingTable(Long userId, List<Client> clients) {
+      StringBuilder rows = new StringBuilder(clients.size() * 128);
+      for (Client client : clients) {
+         rows.append(userId).append(',');
+         appendCsvValue(rows, client.getName()).append(',');
+         appendCsvValue(rows, client.getEmail()).append(',');
+         appendCsvValue(rows, client.getPhoneNumber()).append(',');
+         appendCsvValue(rows, client.getProduct()).append(',');
+         appendCsvValue(rows, client.getAmount() != null ? client.getAmount().toPlainString() : null).append(',');
+         rows.append(Boolean.TRUE.equals(client.getActive())).append(',');
+         appendCsvValue(rows, client.getLastPurchase() != null ? client.getLastPurchase().toString() : null).append('\n');
+      }
+
+      byte[] data = rows.toString().getBytes(StandardCharsets.UTF_8);
+      jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+         CopyManager copyManager = new CopyManager(connection.unwrap(BaseConnection.class));
+         try {
+            return copyManager.copyIn(COPY_TO_STAGING, new ByteArrayInputStream(data));
+         } catch (IOException e) {
+            throw new SQLException(e.getMessage(), e);
+         }
+      });
+   }
+
+   public List<String> mergeStagingTable() {
+      return jdbcTemplate.queryForList(MERGE_STAGING, String.class);
+   }
+
+   public Map<String, UpsertOutcome> upsertAll(Long userId, List<Client> clients, List<String> phoneKeys) {
+      int size = clients.size();
+      String[] names = new String[size];
+      String[] emails = new String[size];
+      String[] phoneNumbers = new String[size];
+      String[] keys = phoneKeys.toArray(new String[0]);
+      String[] products = new String[size];
+      BigDecimal[] amounts = new BigDecimal[size];
+      Date[] lastPurchases = new Date[size];
+      for (int i = 0; i < size; i++) {
+         Client client = clients.get(i);
+         names[i] = client.getName();
+         emails[i] = client.getEmail();
+         phoneNumbers[i] = client.getPhoneNumber();
+         products[i] = client.getProduct();
+         amounts[i] = client.getAmount();
+         lastPurchases[i] = client.getLastPurchase() != null ? Date.valueOf(client.getLastPurchase()) : null;
+      }
+
+      Map<String, UpsertOutcome> written = new HashMap<>(size * 2);
+      jdbcTemplate.query(
+        connection -> {
+           PreparedStatement ps = connection.prepareStatement(UPSERT_CLIENTS);
+           ps.setLong(1, userId);
+           ps.setArray(2, connection.createArrayOf("varchar", names));
+           ps.setArray(3, connection.createArrayOf("varchar", emails));
+           ps.setArray(4, connection.createArrayOf("varchar", phoneNumbers));
+           ps.setArray(5, connection.createArrayOf("varchar", keys));
+           ps.setArray(6, connection.createArrayOf("varchar", products));
+           ps.setArray(7, connection.createArrayOf("numeric", amounts));
+           ps.setArray(8, connection.createArrayOf("date", lastPurchases));
+           return ps;
+        },
+        (RowCallbackHandler) rs -> written.put(rs.getString("phone_key"), UpsertOutcome.valueOf(rs.getString("outcome")))
+      );
+      return written;
+   }
+
+   public enum UpsertOutcome {
+      INSERTED,
+      UPDATED,
+      OWNED_BY_OTHER
+   }
+
+   private static StringBuilder appendCsvValue(StringBuilder out, String value) {
+      if (value == null) {
+         return out;
+      }
+      out.append('"');
+      for (int i = 0; i < value.length(); i++) {
+         char c = value.charAt(i);
+         if (c == '"') {
+            out.append('"');
+         }
+         out.append(c);
+      }
+      return out.append('"');
+   }
+}
@@ -45,6 +45,15 @@ public class ClientRecord {
       Boolean active
     ) {}
 
+    public record campaignTargetDTO(
+      Integer id,
+      String name,
+      String phoneNumber,
+      String product,
+      BigDecimal amount,
+      LocalDate lastPurchase
+    ) {}
+
     @Builder
     public record updateClientDTO(
       String name,
@@ -55,4 +64,25 @@ public class ClientRecord {
       Boolean active,
       @PastOrPresent LocalDate lastPurchase
     ) {}
-}
+
+    public enum ImportMode { BATCH, COPY, UPSERT }
+
+    public enum ImportStatus { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    public record importJobDTO(
+      String jobId,
+      String message
+    ) {}
+
+    public record importJobStatusDTO(
+      String jobId,
+      ImportStatus status,
+      ImportMode mode,
+      long parsed,
+      long inserted,
+      long updated,
+      long skipped,
+      long rejected,
+      String error
+    ) {}
+}
\ No newline at end of file
@@ -1,21 +1,49 @@
 package org.example.domain.client;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ClientRepository extends JpaRepository<Client, Integer> {
    @EntityGraph(attributePaths = "user")
    List<ClientRecord.clientListDTO> findAllAsDTOByUserId(@Param("userId") Long userId);
 
-   List<Client> findAllByUserId(Long userId);
+   Optional<ClientRecord.campaignTargetDTO> findTargetByIdAndUserId(Integer id, Long userId);
 
-   List<Client> findAllByUserIdAndLastPurchaseBetween(
+   List<ClientRecord.campaignTargetDTO> findByUserIdAndIdGreaterThanOrderByIdAsc(
+     Long userId,
+     Integer afterId,
+     Limit limit
+   );
+
+   List<ClientRecord.campaignTargetDTO> findByUserIdAndLastPurchaseBetweenAndIdGreaterThanOrderByIdAsc(
+     Long userId,
+     LocalDate startDate,
+     LocalDate endDate,
+     Integer afterId,
+     Limit limit
+   );
+
+   List<ClientRecord.campaignTargetDTO> findByUserIdAndIdInAndIdGreaterThanOrderByIdAsc(
+     Long userId,
+     Collection<Integer> ids,
+     Integer afterId,
+     Limit limit
+   );
+
+   long countByUserId(Long userId);
+
+   long countByUserIdAndLastPurchaseBetween(
      Long userId,
      LocalDate startDate,
      LocalDate endDate
    );
+
+   long countByUserIdAndIdIn(Long userId, Collection<Integer> ids);
 }
@@ -2,12 +2,17 @@ package org.example.domain.client;
 
 import org.springframework.web.multipart.MultipartFile;
 
+import java.nio.file.Path;
 import java.util.List;
 
 public interface ClientService {
     Client createClient(ClientRecord.clientDTO dto);
 
-    void importClientsCSV(MultipartFile file, Long userId);
+    String scheduleClientsImport(MultipartFile file, Long userId, ClientRecord.ImportMode mode);
+
+    ClientRecord.importJobStatusDTO getImportJob(String jobId, Long userId);
+
+    Path getImportRejectedFile(String jobId, Long userId);
 
     List<ClientRecord.clientListDTO> getClientsByUserId(Long userId);
 
@@ -1,39 +1,51 @@
 package org.example.domain.client;
 
-import com.opencsv.CSVReader;
-import lombok.RequiredArgsConstructor;
 import org.example.domain.user.User;
 import org.example.domain.user.UserRepository;
 import org.example.exception.ClientNotFoundException;
-import org.example.service.CSV.CsvHeaderAliasService;
+import org.example.exception.CustomExceptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.InputStreamReader;
-import java.math.BigDecimal;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.Timestamp;
 import java.time.Instant;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.UUID;
 
 @Service
-@RequiredArgsConstructor
 public class ClientServiceImpl implements ClientService {
    private static final Logger log = LoggerFactory.getLogger(ClientServiceImpl.class);
    private final ClientRepository clientRepository;
    private final UserRepository userRepository;
-   private final CsvHeaderAliasService headerAliasService;
    private final ClientMapper clientMapper;
-   DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+   private final ClientCsvImporter clientCsvImporter;
+   private final ClientImportJobTracker importJobTracker;
+   private final TaskExecutor importExecutor;
+
+   public ClientServiceImpl(
+     ClientRepository clientRepository,
+     UserRepository userRepository,
+     ClientMapper clientMapper,
+     ClientCsvImporter clientCsvImporter,
+     ClientImportJobTracker importJobTracker,
+     @Qualifier("importExecutor") TaskExecutor importExecutor
+   ) {
+      this.clientRepository = clientRepository;
+      this.userRepository = userRepository;
+      this.clientMapper = clientMapper;
+      this.clientCsvImporter = clientCsvImporter;
+      this.importJobTracker = importJobTracker;
+      this.importExecutor = importExecutor;
+   }
 
    @Override
    public Client createClient(ClientRecord.clientDTO dto) {
@@ -57,61 +69,49 @@ public class ClientServiceImpl implements ClientService {
    }
 
    @Override
-   public void importClientsCSV(MultipartFile file, Long userId) {
-      User userEntity = userRepository.findById(userId)
-        .orElseThrow(() -> new RuntimeException("User not found with ID: " + userId));
+   public String scheduleClientsImport(MultipartFile file, Long userId, ClientRecord.ImportMode mode) {
+      if (!userRepository.existsById(userId)) {
+         throw new CustomExceptions.ResourceNotFoundException("Usuário", "ID", userId);
+      }
 
-      try (CSVReader reader = new CSVReader(new InputStreamReader(file.getInputStream()))) {
-         String[] header = reader.readNext();
-         List<Client> clientsToSave = new ArrayList<>();
-         int lineNumber = 2;
+      String jobId = UUID.randomUUID().toString();
+      Path source = clientCsvImporter.sourceFile(jobId);
+      try {
+         file.transferTo(source);
+      } catch (IOException e) {
+         log.error("Failed to spool CSV upload for user ID: {}. Error: {}", userId, e.getMessage());
+         throw new CustomExceptions.FileUploadException("Failed to store CSV file: " + e.getMessage());
+      }
 
-         if (header == null) {
-            throw new RuntimeException("CSV empty or without header.");
+      importJobTracker.create(jobId, userId, mode);
+      try {
+         importExecutor.execute(() -> clientCsvImporter.run(jobId, userId, mode));
+      } catch (TaskRejectedException e) {
+         importJobTracker.finish(jobId, ClientRecord.ImportStatus.FAILED, e.getMessage());
+         try {
+            Files.deleteIfExists(source);
+         } catch (IOException ignored) {
          }
+         throw new CustomExceptions.FileUploadException("Too many imports in progress. Try again later.");
+      }
+      log.info("Import job {} queued for user ID: {} using {} mode", jobId, userId, mode);
+      return jobId;
+   }
 
-         Map<String, Integer> columnIndex = IntStream.range(0, header.length)
-           .boxed()
-           .collect(Collectors.toMap(
-             i -> headerAliasService.resolveCanonical(header[i]),
-             i -> i,
-             (existentValue, newValue) -> newValue
-           ));
-
-         List<String> missing = headerAliasService.requiredFields().stream()
-           .filter(f -> !columnIndex.containsKey(f))
-           .toList();
-         if (!missing.isEmpty())
-            throw new RuntimeException("Missing required fields: " + missing);
-
-         String[] line;
-         while ((line = reader.readNext()) != null) {
-            try {
-               LocalDate lastPurshaseDate = LocalDate.parse(line[columnIndex.get("lastpurchase")], dateFormatter);
-               ClientRecord.importClientsDTO dto = ClientRecord.importClientsDTO.builder()
-                 .name(line[columnIndex.get("name")])
-                 .phoneNumber(line[columnIndex.get("phonenumber")])
-                 .product(line[columnIndex.get("product")])
-                 .amount(new BigDecimal(line[columnIndex.get("amount")]))
-                 .lastPurchase(lastPurshaseDate)
-                 .email(columnIndex.containsKey("email") && line[columnIndex.get("email")].isBlank() ? null : line[columnIndex.get("email")])
-                 .build();
-
-               Client newClient = new Client(dto, userEntity);
-               newClient.setActive(true);
-               clientsToSave.add(newClient);
-
-            } catch (Exception e) {
-               throw new RuntimeException("Error processing the line " + lineNumber + ": " + Arrays.toString(line), e);
-            }
-            lineNumber++;
-         }
-         clientRepository.saveAll(clientsToSave);
-         log.info("Successfully imported {} clients from CSV for user ID: {}", clientsToSave.size(), userId);
-      } catch (Exception e) {
-         log.error("Failed to import CSV for user ID: {}. Error: {}", userId, e.getMessage());
-         throw new RuntimeException("Failed to import CSV file: " + e.getMessage(), e);
+   @Override
+   public ClientRecord.importJobStatusDTO getImportJob(String jobId, Long userId) {
+      return importJobTracker.find(jobId, userId)
+        .orElseThrow(() -> new CustomExceptions.ResourceNotFoundException("Importação", "jobId", jobId));
+   }
+
+   @Override
+   public Path getImportRejectedFile(String jobId, Long userId) {
+      getImportJob(jobId, userId);
+      Path rejected = clientCsvImporter.rejectedFile(jobId);
+      if (!Files.exists(rejected)) {
+         throw new CustomExceptions.ResourceNotFoundException("Arquivo de rejeitados", "jobId", jobId);
       }
+      return rejected;
    }
 
    @Override
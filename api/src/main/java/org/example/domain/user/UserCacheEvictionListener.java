@@ -0,0 +1,30 @@
+package org.example.domain.user;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+@RequiredArgsConstructor
+public class UserCacheEvictionListener {
+    private final UserPrincipalCache userPrincipalCache;
+
+    @PostUpdate
+    @PostRemove
+    void evict(User user) {
+        Integer userId = user.getId();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            userPrincipalCache.evict(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                userPrincipalCache.evict(userId);
+            }
+        });
+    }
+}
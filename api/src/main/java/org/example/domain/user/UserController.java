@@ -1,6 +1,7 @@
 package org.example.domain.user;
 
 import lombok.RequiredArgsConstructor;
+import org.example.domain.auth.TokenVersionService;
 import org.example.domain.client.ClientRecord;
 import org.example.domain.client.ClientService;
 import org.example.exception.CustomExceptions;
@@ -16,6 +17,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class UserController {
    private final ClientService clientService;
+   private final TokenVersionService tokenVersionService;
 
    @GetMapping("/profile")
    public ResponseEntity<UserResponse> getUserProfile(Authentication authentication) {
@@ -30,6 +32,16 @@ public class UserController {
       }
    }
 
+   @PostMapping("/revoke-tokens")
+   public ResponseEntity<Void> revokeTokens(Authentication authentication) {
+      if (authentication == null || authentication.getPrincipal() == null) {
+         throw new CustomExceptions.AuthenticationException("Usuário não autenticado");
+      }
+      User user = (User) authentication.getPrincipal();
+      tokenVersionService.revoke(user.getId());
+      return ResponseEntity.noContent().build();
+   }
+
    @ResponseStatus(HttpStatus.OK)
    @GetMapping("/list")
    public ResponseEntity<List<ClientRecord.clientListDTO>> listByUserId(@RequestParam("userId") Long userId) {
@@ -0,0 +1,71 @@
+package org.example.domain.user;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.example.config.RedisQueueConfig;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.function.Function;
+
+@Slf4j
+@Component
+public class UserPrincipalCache {
+    private final Cache<String, User> users;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    public UserPrincipalCache(
+            StringRedisTemplate redisTemplate,
+            ObjectProvider<RedisMessageListenerContainer> listenerContainer,
+            @Value("${auth.user-cache.max-size:10000}") long maxSize,
+            @Value("${auth.user-cache.ttl:PT5M}") Duration ttl
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer.getIfAvailable();
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @PostConstruct
+    void subscribe() {
+        if (listenerContainer == null) {
+            return;
+        }
+        listenerContainer.addMessageListener(
+                (message, pattern) -> evictLocally(Integer.valueOf(new String(message.getBody(), StandardCharsets.UTF_8))),
+                new ChannelTopic(RedisQueueConfig.USER_CACHE_EVICT_CHANNEL)
+        );
+    }
+
+    public User get(String email, Function<String, User> loader) {
+        return users.get(email, loader);
+    }
+
+    // Also broadcast over Redis so other nodes drop their copy.
+    public void evict(Integer userId) {
+        evictLocally(userId);
+        if (listenerContainer == null) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(RedisQueueConfig.USER_CACHE_EVICT_CHANNEL, String.valueOf(userId));
+        } catch (Exception e) {
+            log.warn("Failed to broadcast user cache eviction for user ID: {}. Error: {}", userId, e.getMessage());
+        }
+    }
+
+    private void evictLocally(Integer userId) {
+        users.asMap().values().removeIf(user -> user.getId().equals(userId));
+    }
+}
@@ -3,11 +3,12 @@ package org.example.domain.user;
 import org.example.domain.campaign.CampaignRecord;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public interface UserService {
     Optional<User> findByEmail(String email);
 
     Optional<User> findById(Integer id);
 
-    CampaignRecord.CampaignMessageResponse generateCampaignMessage(User user, String prompt);
+    CompletableFuture<CampaignRecord.CampaignMessageResponse> generateCampaignMessage(User user, String prompt);
 }
\ No newline at end of file
@@ -1,6 +1,9 @@
 package org.example.domain.user;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.gson.Gson;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.example.domain.campaign.CampaignRecord;
 import org.example.domain.company.Company;
@@ -9,9 +12,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.MessageSource;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
@@ -19,6 +20,9 @@ import java.net.http.HttpResponse;
 import java.time.Duration;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.regex.Pattern;
 
 @Service
 @RequiredArgsConstructor
@@ -31,9 +35,27 @@ public class UserServiceImpl implements UserService {
     private static final Gson GSON = new Gson();
     private static final Logger logger = LoggerFactory.getLogger(UserServiceImpl.class);
 
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
     @Value("${chat.api.url}")
     private String chatApiUrl;
 
+    @Value("${campaign.message-cache.max-size:1000}")
+    private long messageCacheMaxSize;
+
+    @Value("${campaign.message-cache.ttl:PT30M}")
+    private Duration messageCacheTtl;
+
+    private AsyncCache<PromptKey, CampaignRecord.CampaignMessageResponse> campaignMessages;
+
+    @PostConstruct
+    void initMessageCache() {
+        campaignMessages = Caffeine.newBuilder()
+          .maximumSize(messageCacheMaxSize)
+          .expireAfterWrite(messageCacheTtl)
+          .buildAsync();
+    }
+
     @Override
     public Optional<User> findByEmail(String email) {
         return userRepository.findByEmail(email);
@@ -45,8 +67,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public CampaignRecord.CampaignMessageResponse generateCampaignMessage(User user, String prompt) {
+    public CompletableFuture<CampaignRecord.CampaignMessageResponse> generateCampaignMessage(User user, String prompt) {
         logger.info(messageSource.getMessage("user.campaign.message.start", new Object[]{user.getId()}, Locale.getDefault()));
 
         Company company = user.getCompany();
@@ -54,6 +75,11 @@ public class UserServiceImpl implements UserService {
             throw new IllegalStateException(messageSource.getMessage("user.campaign.noCompany", new Object[]{user.getId()}, Locale.getDefault()));
         }
 
+        PromptKey key = new PromptKey(company.getId(), normalizePrompt(prompt));
+        return campaignMessages.get(key, (k, executor) -> requestCampaignMessage(user, company, prompt));
+    }
+
+    private CompletableFuture<CampaignRecord.CampaignMessageResponse> requestCampaignMessage(User user, Company company, String prompt) {
         UserRecord.ChatApiRequest apiRequest = new UserRecord.ChatApiRequest(
           prompt,
           company.getName(),
@@ -68,33 +94,43 @@ public class UserServiceImpl implements UserService {
           .timeout(Duration.ofSeconds(30))
           .build();
 
-        try {
-            logger.debug(messageSource.getMessage("user.chat.api.request", new Object[]{chatApiUrl}, Locale.getDefault()));
-            HttpResponse<String> response = HTTP_CLIENT.send(request, HttpResponse.BodyHandlers.ofString());
-
-            if (response.statusCode() != 200) {
-                logger.error(messageSource.getMessage("user.chat.api.failure", new Object[]{response.statusCode(), response.body()}, Locale.getDefault()));
-                throw new RuntimeException(messageSource.getMessage("user.chat.api.error", new Object[]{response.statusCode()}, Locale.getDefault()));
-            }
-
-            UserRecord.ChatApiResponse apiResponse = GSON.fromJson(response.body(), UserRecord.ChatApiResponse.class);
-            if (apiResponse == null) {
-                logger.warn(messageSource.getMessage("user.chat.api.invalidResponse", null, Locale.getDefault()));
-                throw new IllegalStateException(messageSource.getMessage("user.chat.api.invalid", null, Locale.getDefault()));
-            }
-
-            logger.info(messageSource.getMessage("user.campaign.message.success", new Object[]{user.getId()}, Locale.getDefault()));
-            return new CampaignRecord.CampaignMessageResponse(
-              apiResponse.initial(),
-              apiResponse.promotion(),
-              apiResponse.information(),
-              apiResponse.invite()
-            );
-
-        } catch (IOException | InterruptedException e) {
-            Thread.currentThread().interrupt();
-            logger.error(messageSource.getMessage("user.chat.api.communicationFailure", new Object[]{user.getId(), e.getMessage()}, Locale.getDefault()));
-            throw new RuntimeException(messageSource.getMessage("user.chat.api.communicationError", null, Locale.getDefault()), e);
+        logger.debug(messageSource.getMessage("user.chat.api.request", new Object[]{chatApiUrl}, Locale.getDefault()));
+        return HTTP_CLIENT.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+          .handle((response, error) -> {
+              if (error != null) {
+                  Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                  logger.error(messageSource.getMessage("user.chat.api.communicationFailure", new Object[]{user.getId(), cause.getMessage()}, Locale.getDefault()));
+                  throw new RuntimeException(messageSource.getMessage("user.chat.api.communicationError", null, Locale.getDefault()), cause);
+              }
+              return toCampaignMessage(user, response);
+          });
+    }
+
+    private CampaignRecord.CampaignMessageResponse toCampaignMessage(User user, HttpResponse<String> response) {
+        if (response.statusCode() != 200) {
+            logger.error(messageSource.getMessage("user.chat.api.failure", new Object[]{response.statusCode(), response.body()}, Locale.getDefault()));
+            throw new RuntimeException(messageSource.getMessage("user.chat.api.error", new Object[]{response.statusCode()}, Locale.getDefault()));
+        }
+
+        UserRecord.ChatApiResponse apiResponse = GSON.fromJson(response.body(), UserRecord.ChatApiResponse.class);
+        if (apiResponse == null) {
+            logger.warn(messageSource.getMessage("user.chat.api.invalidResponse", null, Locale.getDefault()));
+            throw new IllegalStateException(messageSource.getMessage("user.chat.api.invalid", null, Locale.getDefault()));
         }
+
+        logger.info(messageSource.getMessage("user.campaign.message.success", new Object[]{user.getId()}, Locale.getDefault()));
+        return new CampaignRecord.CampaignMessageResponse(
+          apiResponse.initial(),
+          apiResponse.promotion(),
+          apiResponse.information(),
+          apiResponse.invite()
+        );
+    }
+
+    private static String normalizePrompt(String prompt) {
+        return WHITESPACE.matcher(prompt.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    private record PromptKey(Integer companyId, String prompt) {
     }
-}
\ No newline at end of file
+}
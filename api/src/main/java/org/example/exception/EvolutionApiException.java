@@ -18,6 +18,10 @@ public class EvolutionApiException extends RuntimeException {
       return responseBody;
    }
 
+   public boolean isRetryable() {
+      return statusCode >= 500 || statusCode == 408 || statusCode == 429;
+   }
+
    @Override
    public String getMessage() {
       return String.format("%s (Status: %d, Response: %s)", super.getMessage(), statusCode, responseBody);
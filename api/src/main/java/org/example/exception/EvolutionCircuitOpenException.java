@@ -0,0 +1,16 @@
+package org.example.exception;
+
+import java.time.Duration;
+
+public class EvolutionCircuitOpenException extends RuntimeException {
+   private final Duration retryAfter;
+
+   public EvolutionCircuitOpenException(String message, Duration retryAfter) {
+      super(message);
+      this.retryAfter = retryAfter;
+   }
+
+   public Duration getRetryAfter() {
+      return retryAfter;
+   }
+}
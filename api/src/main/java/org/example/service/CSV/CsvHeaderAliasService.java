@@ -1,14 +1,31 @@
 package org.example.service.CSV;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
 import java.text.Normalizer;
+import java.time.Duration;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.regex.Pattern;
 
+@Slf4j
 @Service
 public class CsvHeaderAliasService {
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final String FIND_COMPANY_ALIASES =
+            "SELECT alias, canonical FROM csv_header_aliases WHERE company_id = ?";
+
     private final Map<String, String> aliases = Map.ofEntries(
             Map.entry("name", "name"),
             Map.entry("nome", "name"),
@@ -28,18 +45,52 @@ public class CsvHeaderAliasService {
             Map.entry("email", "email")
     );
 
+    private final Set<String> canonicals = Set.copyOf(aliases.values());
+
     private final Set<String> required = Set.of(
             "name", "phonenumber", "product", "amount", "lastpurchase"
     );
 
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache<String, String> normalized;
+    private final LoadingCache<Integer, Map<String, String>> companyAliases;
+
+    public CsvHeaderAliasService(
+            JdbcTemplate jdbcTemplate,
+            @Value("${client.import.header-cache.max-size:4096}") long headerCacheSize,
+            @Value("${client.import.company-aliases.max-size:1000}") long companyCacheSize,
+            @Value("${client.import.company-aliases.expire-after-write:PT10M}") Duration companyCacheTtl
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.normalized = Caffeine.newBuilder()
+                .maximumSize(headerCacheSize)
+                .build();
+        this.companyAliases = Caffeine.newBuilder()
+                .maximumSize(companyCacheSize)
+                .expireAfterWrite(companyCacheTtl)
+                .build(this::loadCompanyAliases);
+    }
+
     private String normalize(String s) {
-        String semAcento = Normalizer.normalize(s, Normalizer.Form.NFD)
-                .replaceAll("\\p{M}", "");
-        return semAcento.trim().toLowerCase().replace(" ", "");
+        return normalized.get(s, raw -> {
+            String semAcento = MARKS.matcher(Normalizer.normalize(raw, Normalizer.Form.NFD)).replaceAll("");
+            return WHITESPACE.matcher(semAcento).replaceAll("").toLowerCase(Locale.ROOT);
+        });
     }
 
-    public String resolveCanonical(String raw) {
-        return aliases.get(normalize(raw));
+    // Company aliases take precedence; unrecognized columns resolve to null.
+    public String resolveCanonical(Integer companyId, String raw) {
+        if (raw == null) {
+            return null;
+        }
+        String key = normalize(raw);
+        if (companyId != null) {
+            String canonical = companyAliases.get(companyId).get(key);
+            if (canonical != null) {
+                return canonical;
+            }
+        }
+        return aliases.get(key);
     }
 
     public boolean isRequired(String canonical) {
@@ -49,4 +100,18 @@ public class CsvHeaderAliasService {
     public List<String> requiredFields() {
         return List.copyOf(required);
     }
-}
\ No newline at end of file
+
+    private Map<String, String> loadCompanyAliases(Integer companyId) {
+        Map<String, String> custom = new HashMap<>();
+        jdbcTemplate.query(FIND_COMPANY_ALIASES, rs -> {
+            String alias = rs.getString("alias");
+            String canonical = rs.getString("canonical");
+            if (canonicals.contains(canonical)) {
+                custom.put(normalize(alias), canonical);
+            } else {
+                log.warn("Ignoring CSV header alias '{}' for company ID: {}. Unknown column: {}", alias, companyId, canonical);
+            }
+        }, companyId);
+        return Map.copyOf(custom);
+    }
+}
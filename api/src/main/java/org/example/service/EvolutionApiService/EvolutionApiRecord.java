@@ -1,13 +1,16 @@
 package org.example.service.EvolutionApiService;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.NotBlank;
 
 public class EvolutionApiRecord {
+   @JsonInclude(JsonInclude.Include.NON_NULL)
    public record SendMessageOptions(
      Long delay,
      String presence
    ){}
 
+   @JsonInclude(JsonInclude.Include.NON_NULL)
    public record SendMessageRequest(
      @NotBlank String number,
      @NotBlank String text,
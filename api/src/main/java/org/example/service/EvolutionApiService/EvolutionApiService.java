@@ -1,82 +1,210 @@
 package org.example.service.EvolutionApiService;
 
-import kong.unirest.HttpResponse;
-import kong.unirest.JsonNode;
-import kong.unirest.Unirest;
-import kong.unirest.UnirestException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
 import org.example.exception.EvolutionApiException;
+import org.example.exception.EvolutionCircuitOpenException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.MessageSource;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
 import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 @Service
 public class EvolutionApiService {
 
    private static final Logger logger = LoggerFactory.getLogger(EvolutionApiService.class);
 
-   private static final long PRESENCE_DURATION_SECONDS = 5;
-
-   private final String evolutionApiUrl;
+   private final URI sendTextUri;
    private final String evolutionApiKey;
-   private final String evolutionInstanceName;
+   private final Duration requestTimeout;
+   private final int maxAttempts;
+   private final long initialBackoffMillis;
+   private final long maxBackoffMillis;
+   private final ExecutorService sendExecutor;
+   private final HttpClient httpClient;
+   private final ObjectMapper objectMapper;
    private final MessageSource messageSource;
+   private final EvolutionRateLimiter rateLimiter;
+   private final EvolutionCircuitBreaker circuitBreaker;
 
    public EvolutionApiService(
      @Value("${evolution.api.url}") String evolutionApiUrl,
      @Value("${evolution.api.key}") String evolutionApiKey,
      @Value("${evolution.api.instance}") String evolutionInstanceName,
-     MessageSource messageSource
+     @Value("${evolution.http.connect-timeout:PT5S}") Duration connectTimeout,
+     @Value("${evolution.http.request-timeout:PT30S}") Duration requestTimeout,
+     @Value("${evolution.retry.max-attempts:3}") int maxAttempts,
+     @Value("${evolution.retry.initial-backoff:PT0.5S}") Duration initialBackoff,
+     @Value("${evolution.retry.max-backoff:PT10S}") Duration maxBackoff,
+     ObjectMapper objectMapper,
+     MessageSource messageSource,
+     EvolutionRateLimiter rateLimiter,
+     EvolutionCircuitBreaker circuitBreaker
    ) {
-      this.evolutionApiUrl = evolutionApiUrl;
+      this.sendTextUri = URI.create(evolutionApiUrl + "/message/sendText/" + evolutionInstanceName);
       this.evolutionApiKey = evolutionApiKey;
-      this.evolutionInstanceName = evolutionInstanceName;
+      this.requestTimeout = requestTimeout;
+      this.maxAttempts = maxAttempts;
+      this.initialBackoffMillis = initialBackoff.toMillis();
+      this.maxBackoffMillis = maxBackoff.toMillis();
+      this.objectMapper = objectMapper;
       this.messageSource = messageSource;
+      this.rateLimiter = rateLimiter;
+      this.circuitBreaker = circuitBreaker;
+      this.sendExecutor = Executors.newVirtualThreadPerTaskExecutor();
+      this.httpClient = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_2)
+        .connectTimeout(connectTimeout)
+        .executor(sendExecutor)
+        .build();
    }
 
-   public void sendMessage(String phoneNumber, String text) {
-      String endpointUrl = String.format("%s/message/sendText/%s", evolutionApiUrl, evolutionInstanceName);
+   @PreDestroy
+   void closeSendExecutor() {
+      sendExecutor.close();
+   }
 
+   public void sendMessage(String phoneNumber, String text, EvolutionApiRecord.SendMessageOptions options) {
       try {
-         logger.debug(messageSource.getMessage("evolution.message.sending", new Object[]{phoneNumber}, Locale.getDefault()));
-
-         EvolutionApiRecord.SendMessageOptions options = new EvolutionApiRecord.SendMessageOptions(
-           TimeUnit.SECONDS.toMillis(PRESENCE_DURATION_SECONDS),
-           "composing"
-         );
-
-         EvolutionApiRecord.SendMessageRequest requestBody = new EvolutionApiRecord.SendMessageRequest(
-           phoneNumber,
-           text,
-           options
-         );
-
-         HttpResponse<JsonNode> response = Unirest.post(endpointUrl)
-           .header("apikey", evolutionApiKey)
-           .header("Content-Type", "application/json")
-           .body(requestBody)
-           .asJson();
-
-         if (!response.isSuccess()) {
-            String responseBody = response.getBody() != null ? response.getBody().toString() : messageSource.getMessage("evolution.response.empty", null, Locale.getDefault());
-            logger.error(messageSource.getMessage("evolution.message.failed", new Object[]{phoneNumber, response.getStatus(), responseBody}, Locale.getDefault()));
-
-            throw new EvolutionApiException(
-              messageSource.getMessage("evolution.api.failure", null, Locale.getDefault()),
-              response.getStatus(),
-              responseBody
-            );
+         sendMessageAsync(phoneNumber, text, options).join();
+      } catch (CompletionException e) {
+         if (e.getCause() instanceof RuntimeException cause) {
+            throw cause;
          }
+         throw e;
+      }
+   }
+
+   public CompletableFuture<Void> sendMessageAsync(String phoneNumber, String text, EvolutionApiRecord.SendMessageOptions options) {
+      HttpRequest request;
+      try {
+         request = buildSendTextRequest(phoneNumber, text, options);
+      } catch (JsonProcessingException e) {
+         return CompletableFuture.failedFuture(new IllegalArgumentException(e.getMessage(), e));
+      }
+      return sendWithRetry(phoneNumber, request, 1);
+   }
+
+   private CompletableFuture<Void> sendWithRetry(String phoneNumber, HttpRequest request, int attempt) {
+      return sendOnce(phoneNumber, request)
+        .thenApply(CompletableFuture::completedFuture)
+        .exceptionally(error -> {
+           Throwable cause = unwrap(error);
+           if (attempt >= maxAttempts || !isRetryable(cause)) {
+              return CompletableFuture.failedFuture(cause);
+           }
+
+           long delayMillis = backoffMillis(attempt);
+           logger.warn(messageSource.getMessage("evolution.message.retry", new Object[]{phoneNumber, attempt, delayMillis}, Locale.getDefault()));
+           Executor delayed = CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS, sendExecutor);
+           return CompletableFuture.runAsync(() -> {}, delayed)
+             .thenCompose(ignored -> sendWithRetry(phoneNumber, request, attempt + 1));
+        })
+        .thenCompose(Function.identity());
+   }
+
+   private CompletableFuture<Void> sendOnce(String phoneNumber, HttpRequest request) {
+      // The limiter may sleep for up to its max wait, so it must not run on the caller's thread.
+      return CompletableFuture.runAsync(rateLimiter::acquire, sendExecutor)
+        .thenCompose(ignored -> dispatch(phoneNumber, request));
+   }
+
+   private CompletableFuture<Void> dispatch(String phoneNumber, HttpRequest request) {
+      if (!circuitBreaker.tryAcquirePermission()) {
+         return CompletableFuture.failedFuture(new EvolutionCircuitOpenException(
+           messageSource.getMessage("evolution.circuit.open", null, Locale.getDefault()),
+           circuitBreaker.remainingOpenTime()
+         ));
+      }
 
-         logger.info(messageSource.getMessage("evolution.message.success", new Object[]{phoneNumber, response.getStatus()}, Locale.getDefault()));
+      logger.debug(messageSource.getMessage("evolution.message.sending", new Object[]{phoneNumber}, Locale.getDefault()));
+      long startedAt = System.nanoTime();
+      return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+        .handle((response, error) -> {
+           long elapsed = System.nanoTime() - startedAt;
+           if (error != null) {
+              Throwable cause = unwrap(error);
+              circuitBreaker.onFailure();
+              logger.error(messageSource.getMessage("evolution.communication.error", new Object[]{phoneNumber, cause.getMessage()}, Locale.getDefault()));
+              if (cause instanceof HttpTimeoutException) {
+                 throw new EvolutionApiException(messageSource.getMessage("evolution.api.timeout", null, Locale.getDefault()), 408, "");
+              }
+              throw new RuntimeException(messageSource.getMessage("evolution.api.communication.error", null, Locale.getDefault()), cause);
+           }
+
+           if (response.statusCode() < 200 || response.statusCode() >= 300) {
+              String responseBody = response.body() != null && !response.body().isEmpty() ? response.body() : messageSource.getMessage("evolution.response.empty", null, Locale.getDefault());
+              logger.error(messageSource.getMessage("evolution.message.failed", new Object[]{phoneNumber, response.statusCode(), responseBody}, Locale.getDefault()));
+
+              EvolutionApiException failure = new EvolutionApiException(
+                messageSource.getMessage("evolution.api.failure", null, Locale.getDefault()),
+                response.statusCode(),
+                responseBody
+              );
+              if (failure.isRetryable()) {
+                 circuitBreaker.onFailure();
+              } else {
+                 circuitBreaker.onSuccess(elapsed);
+              }
+              throw failure;
+           }
+
+           circuitBreaker.onSuccess(elapsed);
+           logger.info(messageSource.getMessage("evolution.message.success", new Object[]{phoneNumber, response.statusCode()}, Locale.getDefault()));
+           return null;
+        });
+   }
 
-      } catch (UnirestException e) {
-         logger.error(messageSource.getMessage("evolution.communication.error", new Object[]{phoneNumber, e.getMessage()}, Locale.getDefault()));
-         throw new RuntimeException(messageSource.getMessage("evolution.api.communication.error", null, Locale.getDefault()), e);
+   private boolean isRetryable(Throwable cause) {
+      if (circuitBreaker.getState() == EvolutionCircuitBreaker.State.OPEN) {
+         return false;
+      }
+      if (cause instanceof EvolutionApiException evolutionApiException) {
+         return evolutionApiException.isRetryable();
       }
+      return cause.getCause() instanceof IOException;
+   }
+
+   private long backoffMillis(int attempt) {
+      long ceiling = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 20));
+      return ceiling / 2 + ThreadLocalRandom.current().nextLong(ceiling / 2 + 1);
+   }
+
+   private Throwable unwrap(Throwable error) {
+      return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+   }
+
+   private HttpRequest buildSendTextRequest(String phoneNumber, String text, EvolutionApiRecord.SendMessageOptions options) throws JsonProcessingException {
+      EvolutionApiRecord.SendMessageRequest requestBody = new EvolutionApiRecord.SendMessageRequest(
+        phoneNumber,
+        text,
+        options
+      );
+
+      return HttpRequest.newBuilder(sendTextUri)
+        .header("apikey", evolutionApiKey)
+        .header("Content-Type", "application/json")
+        .timeout(requestTimeout)
+        .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(requestBody)))
+        .build();
    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,145 @@
+package org.example.service.EvolutionApiService;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.MessageSource;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+@Component
+public class EvolutionCircuitBreaker {
+   private static final Logger logger = LoggerFactory.getLogger(EvolutionCircuitBreaker.class);
+
+   public enum State { CLOSED, HALF_OPEN, OPEN }
+
+   private final MessageSource messageSource;
+   private final int minimumCalls;
+   private final double failureRateThreshold;
+   private final long slowCallNanos;
+   private final long openNanos;
+   private final int halfOpenPermits;
+
+   private final boolean[] window;
+   private int windowIndex;
+   private int recordedCalls;
+   private int failedCalls;
+
+   private State state = State.CLOSED;
+   private long openedAt;
+   private int halfOpenInFlight;
+   private int halfOpenSuccesses;
+
+   public EvolutionCircuitBreaker(
+     MessageSource messageSource,
+     MeterRegistry meterRegistry,
+     @Value("${evolution.circuit-breaker.window-size:50}") int windowSize,
+     @Value("${evolution.circuit-breaker.minimum-calls:20}") int minimumCalls,
+     @Value("${evolution.circuit-breaker.failure-rate-threshold:50}") double failureRateThreshold,
+     @Value("${evolution.circuit-breaker.slow-call-duration:PT10S}") Duration slowCallDuration,
+     @Value("${evolution.circuit-breaker.open-duration:PT30S}") Duration openDuration,
+     @Value("${evolution.circuit-breaker.half-open-permits:3}") int halfOpenPermits
+   ) {
+      this.messageSource = messageSource;
+      this.window = new boolean[windowSize];
+      this.minimumCalls = Math.min(minimumCalls, windowSize);
+      this.failureRateThreshold = failureRateThreshold;
+      this.slowCallNanos = slowCallDuration.toNanos();
+      this.openNanos = openDuration.toNanos();
+      this.halfOpenPermits = halfOpenPermits;
+
+      Gauge.builder("evolution.circuit.state", this, breaker -> breaker.getState().ordinal())
+        .register(meterRegistry);
+   }
+
+   public synchronized State getState() {
+      return state;
+   }
+
+   public synchronized boolean allowsTraffic() {
+      return switch (state) {
+         case CLOSED -> true;
+         case HALF_OPEN -> halfOpenInFlight < halfOpenPermits;
+         case OPEN -> System.nanoTime() - openedAt >= openNanos;
+      };
+   }
+
+   public synchronized Duration remainingOpenTime() {
+      if (state != State.OPEN) {
+         return Duration.ZERO;
+      }
+      return Duration.ofNanos(Math.max(0, openNanos - (System.nanoTime() - openedAt)));
+   }
+
+   public synchronized boolean tryAcquirePermission() {
+      if (state == State.OPEN) {
+         if (System.nanoTime() - openedAt < openNanos) {
+            return false;
+         }
+         transitionTo(State.HALF_OPEN);
+      }
+      if (state == State.HALF_OPEN) {
+         if (halfOpenInFlight >= halfOpenPermits) {
+            return false;
+         }
+         halfOpenInFlight++;
+      }
+      return true;
+   }
+
+   public synchronized void onSuccess(long durationNanos) {
+      record(durationNanos > slowCallNanos);
+   }
+
+   public synchronized void onFailure() {
+      record(true);
+   }
+
+   private void record(boolean failed) {
+      if (state == State.OPEN) {
+         return;
+      }
+
+      if (state == State.HALF_OPEN) {
+         halfOpenInFlight = Math.max(0, halfOpenInFlight - 1);
+         if (failed) {
+            transitionTo(State.OPEN);
+         } else if (++halfOpenSuccesses >= halfOpenPermits) {
+            transitionTo(State.CLOSED);
+         }
+         return;
+      }
+
+      if (recordedCalls == window.length) {
+         failedCalls -= window[windowIndex] ? 1 : 0;
+      } else {
+         recordedCalls++;
+      }
+      window[windowIndex] = failed;
+      failedCalls += failed ? 1 : 0;
+      windowIndex = (windowIndex + 1) % window.length;
+
+      if (recordedCalls >= minimumCalls && failedCalls * 100.0 / recordedCalls >= failureRateThreshold) {
+         transitionTo(State.OPEN);
+      }
+   }
+
+   private void transitionTo(State next) {
+      logger.warn(messageSource.getMessage("evolution.circuit.transition", new Object[]{state, next}, Locale.getDefault()));
+      state = next;
+      halfOpenInFlight = 0;
+      halfOpenSuccesses = 0;
+      if (next == State.OPEN) {
+         openedAt = System.nanoTime();
+      }
+      if (next == State.CLOSED) {
+         windowIndex = 0;
+         recordedCalls = 0;
+         failedCalls = 0;
+      }
+   }
+}
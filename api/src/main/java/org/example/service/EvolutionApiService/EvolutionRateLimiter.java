@@ -0,0 +1,89 @@
+package org.example.service.EvolutionApiService;
+
+import org.example.exception.CustomExceptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.MessageSource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+@Component
+public class EvolutionRateLimiter {
+   private static final String KEY_PREFIX = "ratelimit:evolution:";
+
+   private static final RedisScript<Long> TOKEN_BUCKET = new DefaultRedisScript<>("""
+     local rate = tonumber(ARGV[1])
+     local capacity = tonumber(ARGV[2])
+     local time = redis.call('TIME')
+     local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+     local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+     local tokens = tonumber(bucket[1]) or capacity
+     local ts = tonumber(bucket[2]) or now
+     tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate / 1000)
+
+     -- The permit is reserved up front: the balance may go negative and each caller
+     -- gets its own slot in line, instead of every waiter retrying at the same instant.
+     local wait = 0
+     if tokens < 1 then
+        wait = math.ceil((1 - tokens) * 1000 / rate)
+        if wait > tonumber(ARGV[3]) then
+           return -1
+        end
+     end
+
+     redis.call('HSET', KEYS[1], 'tokens', tokens - 1, 'ts', now)
+     redis.call('PEXPIRE', KEYS[1], math.ceil(capacity * 1000 / rate) + wait + 1000)
+     return wait
+     """, Long.class);
+
+   private final StringRedisTemplate redisTemplate;
+   private final MessageSource messageSource;
+   private final String bucketKey;
+   private final String permitsPerSecond;
+   private final String burst;
+   private final Duration maxWait;
+
+   public EvolutionRateLimiter(
+     StringRedisTemplate redisTemplate,
+     MessageSource messageSource,
+     @Value("${evolution.api.instance}") String evolutionInstanceName,
+     @Value("${evolution.rate-limit.permits-per-second:5}") double permitsPerSecond,
+     @Value("${evolution.rate-limit.burst:5}") int burst,
+     @Value("${evolution.rate-limit.max-wait:PT30S}") Duration maxWait
+   ) {
+      this.redisTemplate = redisTemplate;
+      this.messageSource = messageSource;
+      this.bucketKey = KEY_PREFIX + evolutionInstanceName;
+      this.permitsPerSecond = String.valueOf(permitsPerSecond);
+      this.burst = String.valueOf(burst);
+      this.maxWait = maxWait;
+   }
+
+   public void acquire() {
+      Long waitMillis = redisTemplate.execute(TOKEN_BUCKET, List.of(bucketKey), permitsPerSecond, burst, String.valueOf(maxWait.toMillis()));
+      if (waitMillis == null || waitMillis == 0) {
+         return;
+      }
+
+      if (waitMillis < 0) {
+         throw new CustomExceptions.RateLimitExceededException(
+           messageSource.getMessage("evolution.rateLimit.exceeded", new Object[]{maxWait}, Locale.getDefault())
+         );
+      }
+
+      try {
+         Thread.sleep(waitMillis);
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new CustomExceptions.RateLimitExceededException(
+           messageSource.getMessage("evolution.rateLimit.interrupted", null, Locale.getDefault())
+         );
+      }
+   }
+}
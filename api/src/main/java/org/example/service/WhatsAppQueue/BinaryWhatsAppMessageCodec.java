@@ -0,0 +1,112 @@
+package org.example.service.WhatsAppQueue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.domain.campaign.CampaignRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.MessageSource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Locale;
+import java.util.UUID;
+
+@Component
+@ConditionalOnProperty(name = "whatsapp.queue.codec", havingValue = "binary", matchIfMissing = true)
+public class BinaryWhatsAppMessageCodec implements WhatsAppMessageCodec {
+   private static final byte VERSION_1 = 1;
+   private static final byte HAS_NOT_BEFORE = 1;
+   private static final byte KNOWN_FLAGS = HAS_NOT_BEFORE;
+   private static final int V1_SIZE = 26;
+   private static final int MAX_UNSIGNED_SHORT = 0xFFFF;
+
+   private final ObjectMapper objectMapper;
+   private final MessageSource messageSource;
+
+   public BinaryWhatsAppMessageCodec(ObjectMapper objectMapper, MessageSource messageSource) {
+      this.objectMapper = objectMapper;
+      this.messageSource = messageSource;
+   }
+
+   @Override
+   public byte[] encode(CampaignRecord.WhatsAppMessage message) {
+      UUID campaignId;
+      try {
+         campaignId = UUID.fromString(message.campaignId());
+      } catch (IllegalArgumentException | NullPointerException e) {
+         throw unencodable(e.getMessage(), e);
+      }
+      if (message.clientId() == null) {
+         throw unencodable("clientId is null", null);
+      }
+      checkUnsignedShort("nextPart", message.nextPart());
+      checkUnsignedShort("attempts", message.attempts());
+
+      boolean hasNotBefore = message.notBefore() != null;
+      ByteBuffer buffer = ByteBuffer.allocate(hasNotBefore ? V1_SIZE + Long.BYTES : V1_SIZE)
+        .put(VERSION_1)
+        .put(hasNotBefore ? HAS_NOT_BEFORE : 0)
+        .putLong(campaignId.getMostSignificantBits())
+        .putLong(campaignId.getLeastSignificantBits())
+        .putInt(message.clientId())
+        .putShort((short) message.nextPart())
+        .putShort((short) message.attempts());
+      if (hasNotBefore) {
+         buffer.putLong(message.notBefore());
+      }
+      return buffer.array();
+   }
+
+   @Override
+   public CampaignRecord.WhatsAppMessage decode(byte[] payload) {
+      if (payload == null || payload.length == 0) {
+         throw undecodable("empty payload", null);
+      }
+
+      if (payload[0] == JSON_MARKER) {
+         try {
+            return objectMapper.readValue(payload, CampaignRecord.WhatsAppMessage.class);
+         } catch (IOException e) {
+            throw undecodable(e.getMessage(), e);
+         }
+      }
+
+      if (payload[0] != VERSION_1) {
+         throw undecodable("unsupported version " + payload[0], null);
+      }
+
+      try {
+         ByteBuffer buffer = ByteBuffer.wrap(payload, 1, payload.length - 1);
+         byte flags = buffer.get();
+         if ((flags & ~KNOWN_FLAGS) != 0) {
+            throw undecodable("unknown flags " + Integer.toBinaryString(flags & 0xFF), null);
+         }
+         UUID campaignId = new UUID(buffer.getLong(), buffer.getLong());
+         int clientId = buffer.getInt();
+         int nextPart = Short.toUnsignedInt(buffer.getShort());
+         int attempts = Short.toUnsignedInt(buffer.getShort());
+         Long notBefore = (flags & HAS_NOT_BEFORE) != 0 ? buffer.getLong() : null;
+         if (buffer.hasRemaining()) {
+            throw undecodable(buffer.remaining() + " trailing bytes", null);
+         }
+         return new CampaignRecord.WhatsAppMessage(campaignId.toString(), clientId, nextPart, notBefore, attempts);
+      } catch (BufferUnderflowException e) {
+         throw undecodable("truncated payload", e);
+      }
+   }
+
+   private void checkUnsignedShort(String field, int value) {
+      if (value < 0 || value > MAX_UNSIGNED_SHORT) {
+         throw unencodable(field + " out of range: " + value, null);
+      }
+   }
+
+   private IllegalArgumentException unencodable(String reason, Exception cause) {
+      return new IllegalArgumentException(messageSource.getMessage("whatsapp.queue.unencodable", new Object[]{reason}, Locale.getDefault()), cause);
+   }
+
+   private IllegalArgumentException undecodable(String reason, Exception cause) {
+      return new IllegalArgumentException(messageSource.getMessage("whatsapp.queue.codec.invalid", new Object[]{reason}, Locale.getDefault()), cause);
+   }
+}
@@ -0,0 +1,38 @@
+package org.example.service.WhatsAppQueue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.domain.campaign.CampaignRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.MessageSource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Locale;
+
+@Component
+@ConditionalOnProperty(name = "whatsapp.queue.codec", havingValue = "json")
+public class JsonWhatsAppMessageCodec implements WhatsAppMessageCodec {
+   private final ObjectMapper objectMapper;
+   private final MessageSource messageSource;
+   private final BinaryWhatsAppMessageCodec binaryCodec;
+
+   public JsonWhatsAppMessageCodec(ObjectMapper objectMapper, MessageSource messageSource) {
+      this.objectMapper = objectMapper;
+      this.messageSource = messageSource;
+      this.binaryCodec = new BinaryWhatsAppMessageCodec(objectMapper, messageSource);
+   }
+
+   @Override
+   public byte[] encode(CampaignRecord.WhatsAppMessage message) {
+      try {
+         return objectMapper.writeValueAsBytes(message);
+      } catch (IOException e) {
+         throw new IllegalArgumentException(messageSource.getMessage("whatsapp.queue.unencodable", new Object[]{e.getMessage()}, Locale.getDefault()), e);
+      }
+   }
+
+   @Override
+   public CampaignRecord.WhatsAppMessage decode(byte[] payload) {
+      return binaryCodec.decode(payload);
+   }
+}
@@ -0,0 +1,289 @@
+package org.example.service.WhatsAppQueue;
+
+import org.example.config.RedisQueueConfig;
+import org.example.domain.campaign.CampaignRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.MessageSource;
+import org.springframework.data.redis.connection.RedisListCommands;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@ConditionalOnProperty(name = "whatsapp.queue.backend", havingValue = "list", matchIfMissing = true)
+public class RedisListWhatsAppQueue implements WhatsAppQueue {
+   private static final Logger logger = LoggerFactory.getLogger(RedisListWhatsAppQueue.class);
+
+   private static final RedisScript<Long> MOVE_IN_FLIGHT = new DefaultRedisScript<>("""
+     if redis.call('LREM', KEYS[1], 1, ARGV[1]) == 1 then
+        redis.call('RPUSH', KEYS[2], ARGV[2])
+        return 1
+     end
+     return 0
+     """, Long.class);
+
+   private static final RedisScript<Long> DEFER_IN_FLIGHT = new DefaultRedisScript<>("""
+     if redis.call('LREM', KEYS[1], 1, ARGV[1]) == 1 then
+        redis.call('ZADD', KEYS[2], ARGV[3], ARGV[2])
+        return 1
+     end
+     return 0
+     """, Long.class);
+
+   private static final RedisScript<Long> PROMOTE_DUE = new DefaultRedisScript<>("""
+     local due = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, ARGV[2])
+     local promoted = 0
+     for _, payload in ipairs(due) do
+        if redis.call('ZREM', KEYS[1], payload) == 1 then
+           redis.call('RPUSH', KEYS[2], payload)
+           promoted = promoted + 1
+        end
+     end
+     return promoted
+     """, Long.class);
+
+   private final StringRedisTemplate redisTemplate;
+   private final RedisTemplate<String, byte[]> queueRedisTemplate;
+   private final WhatsAppMessageCodec codec;
+   private final MessageSource messageSource;
+   private final int maxAttempts;
+   private final Duration heartbeatTtl;
+   private final Duration reaperGrace;
+   private final int promoteBatchSize;
+
+   private final Map<String, Long> lastHeartbeats = new ConcurrentHashMap<>();
+
+   public RedisListWhatsAppQueue(
+     StringRedisTemplate redisTemplate,
+     RedisTemplate<String, byte[]> queueRedisTemplate,
+     WhatsAppMessageCodec codec,
+     MessageSource messageSource,
+     @Value("${whatsapp.queue.max-attempts:5}") int maxAttempts,
+     @Value("${whatsapp.queue.heartbeat-ttl:PT30S}") Duration heartbeatTtl,
+     @Value("${whatsapp.queue.reaper-grace:PT2M}") Duration reaperGrace,
+     @Value("${whatsapp.queue.delayed.batch-size:500}") int promoteBatchSize
+   ) {
+      this.redisTemplate = redisTemplate;
+      this.queueRedisTemplate = queueRedisTemplate;
+      this.codec = codec;
+      this.messageSource = messageSource;
+      this.maxAttempts = maxAttempts;
+      this.heartbeatTtl = heartbeatTtl;
+      this.reaperGrace = reaperGrace;
+      this.promoteBatchSize = promoteBatchSize;
+   }
+
+   @Override
+   public void enqueueAll(List<CampaignRecord.WhatsAppMessage> messages) {
+      List<byte[]> payloads = new ArrayList<>(messages.size());
+      for (CampaignRecord.WhatsAppMessage message : messages) {
+         payloads.add(codec.encode(message));
+      }
+      queueRedisTemplate.opsForList().rightPushAll(RedisQueueConfig.WHATSAPP_MESSAGES_QUEUE, payloads);
+   }
+
+   @Override
+   public WhatsAppQueueRecord.Delivery poll(String consumerId, Duration timeout) {
+      heartbeat(consumerId);
+
+      byte[] payload = queueRedisTemplate.opsForList().move(
+        RedisQueueConfig.WHATSAPP_MESSAGES_QUEUE, RedisListCommands.Direction.LEFT,
+        processingKey(consumerId), RedisListCommands.Direction.RIGHT,
+        timeout
+      );
+      if (payload == null) {
+         return null;
+      }
+
+      try {
+         CampaignRecord.WhatsAppMessage message = codec.decode(payload);
+         return new WhatsAppQueueRecord.Delivery(consumerId, processingKey(consumerId), payload, message);
+      } catch (IllegalArgumentException e) {
+         logger.error(messageSource.getMessage("whatsapp.queue.undecodable", new Object[]{e.getMessage()}, Locale.getDefault()));
+         moveInFlight(processingKey(consumerId), payload, RedisQueueConfig.WHATSAPP_DEAD_LETTER_QUEUE, payload);
+         return null;
+      }
+   }
+
+   @Override
+   public void ack(WhatsAppQueueRecord.Delivery delivery) {
+      queueRedisTemplate.opsForList().remove(delivery.receipt(), 1, delivery.payload());
+   }
+
+   @Override
+   public void retry(WhatsAppQueueRecord.Delivery delivery) {
+      requeue(delivery.receipt(), delivery.payload(), delivery.message());
+   }
+
+   @Override
+   public void defer(WhatsAppQueueRecord.Delivery delivery, CampaignRecord.WhatsAppMessage scheduled) {
+      queueRedisTemplate.execute(
+        DEFER_IN_FLIGHT,
+        List.of(delivery.receipt(), RedisQueueConfig.WHATSAPP_DELAYED_QUEUE),
+        delivery.payload(),
+        codec.encode(scheduled),
+        bytes(scheduled.notBefore())
+      );
+   }
+
+   @Override
+   public void release(String consumerId) {
+      // The listener only releases once its sends have settled, so whatever is still here is an
+      // entry whose ack or defer failed; it goes back as it was, without spending an attempt.
+      String processingKey = processingKey(consumerId);
+      List<byte[]> inFlight = queueRedisTemplate.opsForList().range(processingKey, 0, -1);
+      if (inFlight != null) {
+         for (byte[] payload : inFlight) {
+            moveInFlight(processingKey, payload, RedisQueueConfig.WHATSAPP_MESSAGES_QUEUE, payload);
+         }
+      }
+      redisTemplate.delete(heartbeatKey(consumerId));
+      redisTemplate.opsForSet().remove(RedisQueueConfig.WHATSAPP_CONSUMERS, consumerId);
+      lastHeartbeats.remove(consumerId);
+   }
+
+   @Override
+   public WhatsAppQueueRecord.QueueStats stats() {
+      Long ready = redisTemplate.opsForList().size(RedisQueueConfig.WHATSAPP_MESSAGES_QUEUE);
+      Long delayed = queueRedisTemplate.opsForZSet().zCard(RedisQueueConfig.WHATSAPP_DELAYED_QUEUE);
+      Long deadLettered = redisTemplate.opsForList().size(RedisQueueConfig.WHATSAPP_DEAD_LETTER_QUEUE);
+      Set<String> consumers = redisTemplate.opsForSet().members(RedisQueueConfig.WHATSAPP_CONSUMERS);
+
+      long inFlight = 0;
+      if (consumers != null) {
+         for (String consumerId : consumers) {
+            Long size = redisTemplate.opsForList().size(processingKey(consumerId));
+            inFlight += size != null ? size : 0;
+         }
+      }
+      return new WhatsAppQueueRecord.QueueStats(
+        ready != null ? ready : 0,
+        inFlight,
+        delayed != null ? delayed : 0,
+        deadLettered != null ? deadLettered : 0
+      );
+   }
+
+   @Scheduled(fixedDelayString = "${whatsapp.queue.delayed.poll-interval:PT1S}")
+   public void promoteDueMessages() {
+      Long promoted;
+      do {
+         promoted = queueRedisTemplate.execute(
+           PROMOTE_DUE,
+           List.of(RedisQueueConfig.WHATSAPP_DELAYED_QUEUE, RedisQueueConfig.WHATSAPP_MESSAGES_QUEUE),
+           bytes(System.currentTimeMillis()),
+           bytes(promoteBatchSize)
+         );
+      } while (promoted != null && promoted >= promoteBatchSize);
+   }
+
+   // Workers can stall for a long time between polls (in-flight limit, open circuit,
+   // rate limiter), so heartbeats are refreshed here rather than only from poll().
+   @Scheduled(fixedDelayString = "${whatsapp.queue.heartbeat-interval:PT10S}")
+   public void refreshHeartbeats() {
+      for (String consumerId : lastHeartbeats.keySet()) {
+         try {
+            long now = System.currentTimeMillis();
+            writeHeartbeat(consumerId, now);
+            lastHeartbeats.replace(consumerId, now);
+         } catch (Exception e) {
+            logger.warn(messageSource.getMessage("whatsapp.queue.heartbeat.error", new Object[]{consumerId, e.getMessage()}, Locale.getDefault()));
+         }
+      }
+   }
+
+   @Scheduled(fixedDelayString = "${whatsapp.queue.reaper-interval:PT30S}")
+   public void reapStaleConsumers() {
+      Set<String> consumers = redisTemplate.opsForSet().members(RedisQueueConfig.WHATSAPP_CONSUMERS);
+      if (consumers == null) {
+         return;
+      }
+      for (String consumerId : consumers) {
+         if (Boolean.TRUE.equals(redisTemplate.hasKey(heartbeatKey(consumerId)))) {
+            continue;
+         }
+         int recovered = recoverInFlight(consumerId);
+         redisTemplate.opsForSet().remove(RedisQueueConfig.WHATSAPP_CONSUMERS, consumerId);
+         logger.warn(messageSource.getMessage("whatsapp.queue.reaped", new Object[]{consumerId, recovered}, Locale.getDefault()));
+      }
+   }
+
+   private int recoverInFlight(String consumerId) {
+      String processingKey = processingKey(consumerId);
+      List<byte[]> inFlight = queueRedisTemplate.opsForList().range(processingKey, 0, -1);
+      if (inFlight == null) {
+         return 0;
+      }
+
+      int recovered = 0;
+      for (byte[] payload : inFlight) {
+         try {
+            requeue(processingKey, payload, codec.decode(payload));
+         } catch (IllegalArgumentException e) {
+            moveInFlight(processingKey, payload, RedisQueueConfig.WHATSAPP_DEAD_LETTER_QUEUE, payload);
+         }
+         recovered++;
+      }
+      return recovered;
+   }
+
+   private void requeue(String processingKey, byte[] payload, CampaignRecord.WhatsAppMessage message) {
+      CampaignRecord.WhatsAppMessage retried = message.withNextAttempt();
+      String target = retried.attempts() >= maxAttempts
+        ? RedisQueueConfig.WHATSAPP_DEAD_LETTER_QUEUE
+        : RedisQueueConfig.WHATSAPP_MESSAGES_QUEUE;
+
+      moveInFlight(processingKey, payload, target, codec.encode(retried));
+
+      if (target.equals(RedisQueueConfig.WHATSAPP_DEAD_LETTER_QUEUE)) {
+         logger.warn(messageSource.getMessage("whatsapp.queue.deadLettered", new Object[]{message.clientId(), retried.attempts()}, Locale.getDefault()));
+      }
+   }
+
+   private void moveInFlight(String processingKey, byte[] payload, String target, byte[] newPayload) {
+      queueRedisTemplate.execute(MOVE_IN_FLIGHT, List.of(processingKey, target), payload, newPayload);
+   }
+
+   private static byte[] bytes(long value) {
+      return String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+   }
+
+   private void heartbeat(String consumerId) {
+      long now = System.currentTimeMillis();
+      Long last = lastHeartbeats.get(consumerId);
+      if (last != null && now - last < heartbeatTtl.toMillis() / 3) {
+         return;
+      }
+      writeHeartbeat(consumerId, now);
+      lastHeartbeats.put(consumerId, now);
+   }
+
+   private void writeHeartbeat(String consumerId, long now) {
+      // The key outlives the refresh interval by the reaper grace, which must exceed the longest worker stall.
+      redisTemplate.opsForValue().set(heartbeatKey(consumerId), String.valueOf(now), heartbeatTtl.plus(reaperGrace));
+      redisTemplate.opsForSet().add(RedisQueueConfig.WHATSAPP_CONSUMERS, consumerId);
+   }
+
+   private String processingKey(String consumerId) {
+      return RedisQueueConfig.WHATSAPP_PROCESSING_PREFIX + consumerId;
+   }
+
+   private String heartbeatKey(String consumerId) {
+      return RedisQueueConfig.WHATSAPP_HEARTBEAT_PREFIX + consumerId;
+   }
+}
@@ -0,0 +1,370 @@
+package org.example.service.WhatsAppQueue;
+
+import jakarta.annotation.PostConstruct;
+import org.example.config.RedisQueueConfig;
+import org.example.domain.campaign.CampaignRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.MessageSource;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamInfo;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@ConditionalOnProperty(name = "whatsapp.queue.backend", havingValue = "stream")
+public class RedisStreamWhatsAppQueue implements WhatsAppQueue {
+   private static final Logger logger = LoggerFactory.getLogger(RedisStreamWhatsAppQueue.class);
+
+   private static final String PAYLOAD_FIELD = "payload";
+   private static final byte[] PAYLOAD_FIELD_BYTES = PAYLOAD_FIELD.getBytes(StandardCharsets.UTF_8);
+   private static final byte[] STREAM_KEY_BYTES = RedisQueueConfig.WHATSAPP_MESSAGES_STREAM.getBytes(StandardCharsets.UTF_8);
+
+   private static final String SWEEPER_CONSUMER = "sweeper";
+
+   @SuppressWarnings("rawtypes")
+   private static final RedisScript<List> CLAIM_STALE = new DefaultRedisScript<>("""
+     local claimed = redis.call('XAUTOCLAIM', KEYS[1], ARGV[1], ARGV[2], ARGV[3], ARGV[4], 'COUNT', ARGV[5])
+     local result = {claimed[1]}
+     for _, entry in ipairs(claimed[2]) do
+        local fields = entry[2]
+        if fields then
+           local payload = ''
+           for i = 1, #fields, 2 do
+              if fields[i] == ARGV[6] then
+                 payload = fields[i + 1]
+              end
+           end
+           table.insert(result, entry[1])
+           table.insert(result, payload)
+        else
+           redis.call('XACK', KEYS[1], ARGV[1], entry[1])
+        end
+     end
+     return result
+     """, List.class);
+
+   private static final RedisScript<Long> REFRESH_PENDING = new DefaultRedisScript<>("""
+     local refreshed = 0
+     for i = 3, #ARGV do
+        local entry = redis.call('XPENDING', KEYS[1], ARGV[1], ARGV[i], ARGV[i], 1)
+        if entry[1] and entry[1][2] == ARGV[2] then
+           redis.call('XCLAIM', KEYS[1], ARGV[1], ARGV[2], 0, ARGV[i], 'JUSTID')
+           refreshed = refreshed + 1
+        end
+     end
+     return refreshed
+     """, Long.class);
+
+   private static final RedisScript<Long> DEFER_PENDING = new DefaultRedisScript<>("""
+     redis.call('ZADD', KEYS[2], ARGV[3], ARGV[4])
+     redis.call('XACK', KEYS[1], ARGV[1], ARGV[2])
+     redis.call('XDEL', KEYS[1], ARGV[2])
+     return 1
+     """, Long.class);
+
+   private static final RedisScript<Long> RETRY_PENDING = new DefaultRedisScript<>("""
+     if ARGV[5] == '1' then
+        redis.call('RPUSH', KEYS[2], ARGV[4])
+     else
+        redis.call('XADD', KEYS[1], '*', ARGV[3], ARGV[4])
+     end
+     redis.call('XACK', KEYS[1], ARGV[1], ARGV[2])
+     redis.call('XDEL', KEYS[1], ARGV[2])
+     return 1
+     """, Long.class);
+
+   private static final RedisScript<Long> PROMOTE_DUE = new DefaultRedisScript<>("""
+     local due = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, ARGV[2])
+     local promoted = 0
+     for _, payload in ipairs(due) do
+        if redis.call('ZREM', KEYS[1], payload) == 1 then
+           redis.call('XADD', KEYS[2], '*', ARGV[3], payload)
+           promoted = promoted + 1
+        end
+     end
+     return promoted
+     """, Long.class);
+
+   private final RedisTemplate<String, byte[]> redisTemplate;
+   private final WhatsAppMessageCodec codec;
+   private final MessageSource messageSource;
+   private final int maxAttempts;
+   private final Duration claimIdle;
+   private final int claimBatchSize;
+   private final int promoteBatchSize;
+
+   private final Map<String, Set<String>> inFlight = new ConcurrentHashMap<>();
+   private volatile String claimCursor = "0-0";
+
+   public RedisStreamWhatsAppQueue(
+     RedisTemplate<String, byte[]> redisTemplate,
+     WhatsAppMessageCodec codec,
+     MessageSource messageSource,
+     @Value("${whatsapp.queue.max-attempts:5}") int maxAttempts,
+     @Value("${whatsapp.queue.stream.claim-idle:PT1M}") Duration claimIdle,
+     @Value("${whatsapp.queue.stream.claim-batch-size:100}") int claimBatchSize,
+     @Value("${whatsapp.queue.delayed.batch-size:500}") int promoteBatchSize
+   ) {
+      this.redisTemplate = redisTemplate;
+      this.codec = codec;
+      this.messageSource = messageSource;
+      this.maxAttempts = maxAttempts;
+      this.claimIdle = claimIdle;
+      this.claimBatchSize = claimBatchSize;
+      this.promoteBatchSize = promoteBatchSize;
+   }
+
+   @PostConstruct
+   void createConsumerGroup() {
+      try {
+         redisTemplate.execute((RedisCallback<String>) connection -> connection.streamCommands().xGroupCreate(
+           STREAM_KEY_BYTES,
+           RedisQueueConfig.WHATSAPP_CONSUMER_GROUP,
+           ReadOffset.from("0"),
+           true
+         ));
+      } catch (RedisSystemException e) {
+         String reason = e.getMostSpecificCause().getMessage();
+         if (reason == null || !reason.contains("BUSYGROUP")) {
+            throw e;
+         }
+      }
+   }
+
+   @Override
+   public void enqueueAll(List<CampaignRecord.WhatsAppMessage> messages) {
+      List<byte[]> payloads = new ArrayList<>(messages.size());
+      for (CampaignRecord.WhatsAppMessage message : messages) {
+         payloads.add(codec.encode(message));
+      }
+
+      redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+         for (byte[] payload : payloads) {
+            connection.streamCommands().xAdd(MapRecord.create(STREAM_KEY_BYTES, Map.of(PAYLOAD_FIELD_BYTES, payload)));
+         }
+         return null;
+      });
+   }
+
+   @Override
+   public WhatsAppQueueRecord.Delivery poll(String consumerId, Duration timeout) {
+      List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream().read(
+        Consumer.from(RedisQueueConfig.WHATSAPP_CONSUMER_GROUP, consumerId),
+        StreamReadOptions.empty().count(1).block(timeout),
+        StreamOffset.create(RedisQueueConfig.WHATSAPP_MESSAGES_STREAM, ReadOffset.lastConsumed())
+      );
+      if (records == null || records.isEmpty()) {
+         return null;
+      }
+
+      MapRecord<String, Object, Object> record = records.get(0);
+      WhatsAppQueueRecord.Delivery delivery = decode(consumerId, record.getId().getValue(), (byte[]) record.getValue().get(PAYLOAD_FIELD));
+      if (delivery != null) {
+         inFlight.computeIfAbsent(consumerId, id -> ConcurrentHashMap.newKeySet()).add(delivery.receipt());
+      }
+      return delivery;
+   }
+
+   @Override
+   public void ack(WhatsAppQueueRecord.Delivery delivery) {
+      acknowledgeAndDelete(delivery.receipt());
+      settle(delivery);
+   }
+
+   @Override
+   public void retry(WhatsAppQueueRecord.Delivery delivery) {
+      CampaignRecord.WhatsAppMessage retried = delivery.message().withNextAttempt();
+      boolean deadLettered = retried.attempts() >= maxAttempts;
+      redisTemplate.execute(
+        RETRY_PENDING,
+        List.of(RedisQueueConfig.WHATSAPP_MESSAGES_STREAM, RedisQueueConfig.WHATSAPP_DEAD_LETTER_QUEUE),
+        bytes(RedisQueueConfig.WHATSAPP_CONSUMER_GROUP),
+        bytes(delivery.receipt()),
+        PAYLOAD_FIELD_BYTES,
+        codec.encode(retried),
+        bytes(deadLettered ? "1" : "0")
+      );
+      settle(delivery);
+
+      if (deadLettered) {
+         logger.warn(messageSource.getMessage("whatsapp.queue.deadLettered", new Object[]{retried.clientId(), retried.attempts()}, Locale.getDefault()));
+      }
+   }
+
+   @Override
+   public void defer(WhatsAppQueueRecord.Delivery delivery, CampaignRecord.WhatsAppMessage scheduled) {
+      redisTemplate.execute(
+        DEFER_PENDING,
+        List.of(RedisQueueConfig.WHATSAPP_MESSAGES_STREAM, RedisQueueConfig.WHATSAPP_DELAYED_QUEUE),
+        bytes(RedisQueueConfig.WHATSAPP_CONSUMER_GROUP),
+        bytes(delivery.receipt()),
+        bytes(String.valueOf(scheduled.notBefore())),
+        codec.encode(scheduled)
+      );
+      settle(delivery);
+   }
+
+   @Override
+   public void release(String consumerId) {
+      inFlight.remove(consumerId);
+      Consumer consumer = Consumer.from(RedisQueueConfig.WHATSAPP_CONSUMER_GROUP, consumerId);
+      PendingMessages pending = redisTemplate.opsForStream().pending(RedisQueueConfig.WHATSAPP_MESSAGES_STREAM, consumer, Range.unbounded(), 1L);
+      if (pending.isEmpty()) {
+         redisTemplate.opsForStream().deleteConsumer(RedisQueueConfig.WHATSAPP_MESSAGES_STREAM, consumer);
+      }
+   }
+
+   @Override
+   public WhatsAppQueueRecord.QueueStats stats() {
+      Long delayed = redisTemplate.opsForZSet().zCard(RedisQueueConfig.WHATSAPP_DELAYED_QUEUE);
+      Long deadLettered = redisTemplate.opsForList().size(RedisQueueConfig.WHATSAPP_DEAD_LETTER_QUEUE);
+      StreamInfo.XInfoGroup group = redisTemplate.opsForStream().groups(RedisQueueConfig.WHATSAPP_MESSAGES_STREAM).stream()
+        .filter(g -> RedisQueueConfig.WHATSAPP_CONSUMER_GROUP.equals(g.groupName()))
+        .findFirst()
+        .orElse(null);
+
+      long lag = 0;
+      long pending = 0;
+      if (group != null) {
+         pending = group.pendingCount();
+         lag = group.getRaw().get("lag") instanceof Number number
+           ? number.longValue()
+           : redisTemplate.opsForStream().size(RedisQueueConfig.WHATSAPP_MESSAGES_STREAM) - pending;
+      }
+      return new WhatsAppQueueRecord.QueueStats(
+        lag,
+        pending,
+        delayed != null ? delayed : 0,
+        deadLettered != null ? deadLettered : 0
+      );
+   }
+
+   @Scheduled(fixedDelayString = "${whatsapp.queue.delayed.poll-interval:PT1S}")
+   public void promoteDueMessages() {
+      Long promoted;
+      do {
+         promoted = redisTemplate.execute(
+           PROMOTE_DUE,
+           List.of(RedisQueueConfig.WHATSAPP_DELAYED_QUEUE, RedisQueueConfig.WHATSAPP_MESSAGES_STREAM),
+           bytes(String.valueOf(System.currentTimeMillis())),
+           bytes(String.valueOf(promoteBatchSize)),
+           PAYLOAD_FIELD_BYTES
+         );
+      } while (promoted != null && promoted >= promoteBatchSize);
+   }
+
+   // The listener may hold a delivery well past claim-idle (in-flight limit, open circuit,
+   // slow sends), so ids still being worked on are re-claimed by their owner to reset
+   // their idle time before the sweep below can hand them to another consumer.
+   @Scheduled(fixedDelayString = "${whatsapp.queue.heartbeat-interval:PT10S}")
+   public void refreshInFlight() {
+      for (Map.Entry<String, Set<String>> entry : inFlight.entrySet()) {
+         List<String> ids = List.copyOf(entry.getValue());
+         if (ids.isEmpty()) {
+            continue;
+         }
+         try {
+            List<Object> args = new ArrayList<>(ids.size() + 2);
+            args.add(bytes(RedisQueueConfig.WHATSAPP_CONSUMER_GROUP));
+            args.add(bytes(entry.getKey()));
+            for (String id : ids) {
+               args.add(bytes(id));
+            }
+            redisTemplate.execute(REFRESH_PENDING, List.of(RedisQueueConfig.WHATSAPP_MESSAGES_STREAM), args.toArray());
+         } catch (Exception e) {
+            logger.warn(messageSource.getMessage("whatsapp.queue.heartbeat.error", new Object[]{entry.getKey(), e.getMessage()}, Locale.getDefault()));
+         }
+      }
+   }
+
+   @Scheduled(fixedDelayString = "${whatsapp.queue.stream.claim-interval:PT15S}")
+   public void claimStaleMessages() {
+      List<?> claimed = redisTemplate.execute(
+        CLAIM_STALE,
+        List.of(RedisQueueConfig.WHATSAPP_MESSAGES_STREAM),
+        bytes(RedisQueueConfig.WHATSAPP_CONSUMER_GROUP),
+        bytes(SWEEPER_CONSUMER),
+        bytes(String.valueOf(claimIdle.toMillis())),
+        bytes(claimCursor),
+        bytes(String.valueOf(claimBatchSize)),
+        PAYLOAD_FIELD_BYTES
+      );
+      if (claimed == null || claimed.isEmpty()) {
+         return;
+      }
+
+      claimCursor = new String((byte[]) claimed.get(0), StandardCharsets.UTF_8);
+      int recovered = 0;
+      for (int i = 1; i + 1 < claimed.size(); i += 2) {
+         String recordId = new String((byte[]) claimed.get(i), StandardCharsets.UTF_8);
+         WhatsAppQueueRecord.Delivery delivery = decode(SWEEPER_CONSUMER, recordId, (byte[]) claimed.get(i + 1));
+         if (delivery != null) {
+            retry(delivery);
+            recovered++;
+         }
+      }
+      if (recovered > 0) {
+         logger.warn(messageSource.getMessage("whatsapp.queue.stream.reclaimed", new Object[]{recovered, claimIdle}, Locale.getDefault()));
+      }
+   }
+
+   private WhatsAppQueueRecord.Delivery decode(String consumerId, String recordId, byte[] payload) {
+      try {
+         CampaignRecord.WhatsAppMessage message = codec.decode(payload);
+         return new WhatsAppQueueRecord.Delivery(consumerId, recordId, payload, message);
+      } catch (IllegalArgumentException e) {
+         logger.error(messageSource.getMessage("whatsapp.queue.undecodable", new Object[]{e.getMessage()}, Locale.getDefault()));
+         deadLetter(recordId, payload);
+         return null;
+      }
+   }
+
+   private void settle(WhatsAppQueueRecord.Delivery delivery) {
+      Set<String> ids = inFlight.get(delivery.consumerId());
+      if (ids != null) {
+         ids.remove(delivery.receipt());
+      }
+   }
+
+   private void deadLetter(String recordId, byte[] payload) {
+      redisTemplate.opsForList().rightPush(RedisQueueConfig.WHATSAPP_DEAD_LETTER_QUEUE, payload);
+      acknowledgeAndDelete(recordId);
+   }
+
+   private void acknowledgeAndDelete(String recordId) {
+      RecordId id = RecordId.of(recordId);
+      redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+         connection.streamCommands().xAck(STREAM_KEY_BYTES, RedisQueueConfig.WHATSAPP_CONSUMER_GROUP, id);
+         connection.streamCommands().xDel(STREAM_KEY_BYTES, id);
+         return null;
+      });
+   }
+
+   private static byte[] bytes(String value) {
+      return value.getBytes(StandardCharsets.UTF_8);
+   }
+}
@@ -0,0 +1,11 @@
+package org.example.service.WhatsAppQueue;
+
+import org.example.domain.campaign.CampaignRecord;
+
+public interface WhatsAppMessageCodec {
+   byte JSON_MARKER = '{';
+
+   byte[] encode(CampaignRecord.WhatsAppMessage message);
+
+   CampaignRecord.WhatsAppMessage decode(byte[] payload);
+}
@@ -0,0 +1,22 @@
+package org.example.service.WhatsAppQueue;
+
+import org.example.domain.campaign.CampaignRecord;
+
+import java.time.Duration;
+import java.util.List;
+
+public interface WhatsAppQueue {
+   void enqueueAll(List<CampaignRecord.WhatsAppMessage> messages);
+
+   WhatsAppQueueRecord.Delivery poll(String consumerId, Duration timeout);
+
+   void ack(WhatsAppQueueRecord.Delivery delivery);
+
+   void retry(WhatsAppQueueRecord.Delivery delivery);
+
+   void defer(WhatsAppQueueRecord.Delivery delivery, CampaignRecord.WhatsAppMessage scheduled);
+
+   void release(String consumerId);
+
+   WhatsAppQueueRecord.QueueStats stats();
+}
@@ -0,0 +1,55 @@
+package org.example.service.WhatsAppQueue;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.MessageSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Component
+public class WhatsAppQueueMetrics {
+   private static final Logger logger = LoggerFactory.getLogger(WhatsAppQueueMetrics.class);
+
+   private final WhatsAppQueue whatsAppQueue;
+   private final MessageSource messageSource;
+   private final AtomicReference<WhatsAppQueueRecord.QueueStats> latest =
+     new AtomicReference<>(new WhatsAppQueueRecord.QueueStats(0, 0, 0, 0));
+
+   public WhatsAppQueueMetrics(
+     WhatsAppQueue whatsAppQueue,
+     MessageSource messageSource,
+     MeterRegistry meterRegistry,
+     @Value("${whatsapp.queue.backend:list}") String backend
+   ) {
+      this.whatsAppQueue = whatsAppQueue;
+      this.messageSource = messageSource;
+
+      Gauge.builder("whatsapp.queue.lag", latest, stats -> stats.get().lag())
+        .tag("backend", backend)
+        .register(meterRegistry);
+      Gauge.builder("whatsapp.queue.pending", latest, stats -> stats.get().pending())
+        .tag("backend", backend)
+        .register(meterRegistry);
+      Gauge.builder("whatsapp.queue.delayed", latest, stats -> stats.get().delayed())
+        .tag("backend", backend)
+        .register(meterRegistry);
+      Gauge.builder("whatsapp.queue.dead", latest, stats -> stats.get().deadLettered())
+        .tag("backend", backend)
+        .register(meterRegistry);
+   }
+
+   @Scheduled(fixedDelayString = "${whatsapp.queue.metrics-interval:PT15S}")
+   public void refresh() {
+      try {
+         latest.set(whatsAppQueue.stats());
+      } catch (Exception e) {
+         logger.warn(messageSource.getMessage("whatsapp.queue.stats.error", new Object[]{e.getMessage()}, Locale.getDefault()));
+      }
+   }
+}
@@ -0,0 +1,19 @@
+package org.example.service.WhatsAppQueue;
+
+import org.example.domain.campaign.CampaignRecord;
+
+public class WhatsAppQueueRecord {
+   public record Delivery(
+     String consumerId,
+     String receipt,
+     byte[] payload,
+     CampaignRecord.WhatsAppMessage message
+   ) {}
+
+   public record QueueStats(
+     long lag,
+     long pending,
+     long delayed,
+     long deadLettered
+   ) {}
+}
@@ -0,0 +1,4 @@
+ALTER TABLE campaigns
+    ADD COLUMN total_messages BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN enqueued BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN enqueue_failed BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,12 @@
+CREATE TABLE IF NOT EXISTS campaigns (
+    id           UUID PRIMARY KEY,
+    user_id      INTEGER NOT NULL,
+    initial      TEXT,
+    promotion    TEXT,
+    information  TEXT,
+    invite       TEXT,
+    send_profile VARCHAR(20) NOT NULL,
+    created_at   TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_campaign_user_id FOREIGN KEY (user_id) REFERENCES users(id)
+    );
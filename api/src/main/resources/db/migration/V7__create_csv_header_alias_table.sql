@@ -0,0 +1,10 @@
+CREATE TABLE IF NOT EXISTS csv_header_aliases (
+    id         SERIAL PRIMARY KEY,
+    company_id INTEGER NOT NULL,
+    alias      VARCHAR(100) NOT NULL,
+    canonical  VARCHAR(50) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_csv_header_alias_company_id FOREIGN KEY (company_id) REFERENCES company(id) ON DELETE CASCADE,
+    CONSTRAINT csv_header_alias_company_alias_unique UNIQUE (company_id, alias)
+    );
@@ -0,0 +1,2 @@
+ALTER TABLE campaigns
+    ADD COLUMN status VARCHAR(20) NOT NULL DEFAULT 'QUEUED';
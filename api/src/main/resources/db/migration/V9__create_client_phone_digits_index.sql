@@ -0,0 +1,2 @@
+CREATE INDEX IF NOT EXISTS idx_clients_phone_digits
+    ON clients ((regexp_replace(phone_number, '\D', '', 'g')));
@@ -0,0 +1,147 @@
+package org.example.config;
+
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.example.domain.auth.TokenVersionService;
+import org.example.domain.company.Company;
+import org.example.domain.user.User;
+import org.example.domain.user.UserPrincipalCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Cost of authenticating one request: the three verifications the filter used to run, a single
+ * uncached verification, a cache hit, and the whole filter on a hot token. Redis and the user
+ * lookup are stubbed out, so the numbers are token handling only.
+ * Run {@link #main} from the test classpath; the GC profiler reports allocations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthFilterBenchmark {
+    private static final String SECRET = Base64.getEncoder()
+            .encodeToString("0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8));
+
+    private final User user = User.builder()
+            .id(7)
+            .name("Ana")
+            .email("ana@example.com")
+            .phoneNumber("11999990000")
+            .company(Company.builder().id(3).name("Loja").type("Varejo").build())
+            .build();
+    private final FilterChain chain = (request, response) -> { };
+
+    private JwtService jwtService;
+    private JwtParser parser;
+    private JwtAuthFilter filter;
+    private String token;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() throws ServletException, IOException {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", Duration.ofHours(1).toMillis());
+        ReflectionTestUtils.setField(jwtService, "cacheMaxSize", 10_000L);
+        ReflectionTestUtils.setField(jwtService, "cacheMaxTtl", Duration.ofMinutes(5));
+        jwtService.init();
+        token = jwtService.generateToken(user, 1);
+        parser = Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET))).build();
+
+        // Loaded once into the version cache, which outlives the run.
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        ValueOperations<String, String> values = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        when(values.get(anyString())).thenReturn("1");
+        TokenVersionService tokenVersionService = new TokenVersionService(
+                redisTemplate, mock(UserPrincipalCache.class), new SimpleMeterRegistry(), Duration.ofHours(1), Duration.ofMinutes(5)
+        );
+        filter = new JwtAuthFilter(jwtService, username -> user, tokenVersionService);
+
+        request = new MockHttpServletRequest("GET", "/api/clients");
+        request.setServletPath("/api/clients");
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+
+        filterCachedToken(new Blackhole("Today's password is swordfish. I understand instantiating Blackholes directly is dangerous."));
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            throw new IllegalStateException("Filter did not authenticate the benchmark token, status " + response.getStatus());
+        }
+    }
+
+    // What the filter did before: extractUsername, then isTokenValid verifying for the subject and
+    // again for the expiration, each decoding the Base64 secret into a fresh key.
+    @Benchmark
+    public void legacyTripleParse(Blackhole blackhole) {
+        for (int i = 0; i < 3; i++) {
+            blackhole.consume(Jwts.parserBuilder()
+                    .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                    .build()
+                    .parseClaimsJws(token)
+                    .getBody());
+        }
+    }
+
+    @Benchmark
+    public void singleParse(Blackhole blackhole) {
+        blackhole.consume(parser.parseClaimsJws(token).getBody());
+    }
+
+    @Benchmark
+    public void cachedParse(Blackhole blackhole) {
+        blackhole.consume(jwtService.parseVerified(token));
+    }
+
+    @Benchmark
+    public void filterCachedToken(Blackhole blackhole) throws ServletException, IOException {
+        SecurityContextHolder.clearContext();
+        filter.doFilter(request, response, chain);
+        blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtAuthFilterBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,159 @@
+package org.example.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.example.domain.auth.TokenVersionService;
+import org.example.domain.company.Company;
+import org.example.domain.user.User;
+import org.example.domain.user.UserPrincipalCache;
+import org.example.domain.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Database lookups behind the JWT filter for 1,000 requests spread over 50 users, counted on the
+ * repository: the plain user details service against the filter wired with the principal cache.
+ */
+class JwtAuthFilterQueryCountTest {
+    private static final String SECRET = Base64.getEncoder()
+            .encodeToString("0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8));
+    private static final int USERS = 50;
+    private static final int REQUESTS = 1_000;
+    private static final int THREADS = 8;
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final AtomicInteger queries = new AtomicInteger();
+    private final AtomicInteger authenticated = new AtomicInteger();
+    private final FilterChain chain = (request, response) -> {
+        if (SecurityContextHolder.getContext().getAuthentication() != null) {
+            authenticated.incrementAndGet();
+        }
+    };
+    private final List<String> tokens = new ArrayList<>();
+
+    private JwtService jwtService;
+    private TokenVersionService tokenVersionService;
+    private UserPrincipalCache userPrincipalCache;
+    private WebSecurityConfig config;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", Duration.ofHours(1).toMillis());
+        ReflectionTestUtils.setField(jwtService, "cacheMaxSize", 10_000L);
+        ReflectionTestUtils.setField(jwtService, "cacheMaxTtl", Duration.ofMinutes(5));
+        jwtService.init();
+
+        when(userRepository.findByEmail(anyString())).thenAnswer(inv -> {
+            queries.incrementAndGet();
+            return Optional.of(user(inv.getArgument(0)));
+        });
+        for (int i = 1; i <= USERS; i++) {
+            tokens.add(jwtService.generateToken(user("user" + i + "@example.com"), 0));
+        }
+
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        @SuppressWarnings("unchecked")
+        ValueOperations<String, String> values = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        @SuppressWarnings("unchecked")
+        ObjectProvider<RedisMessageListenerContainer> noContainer = mock(ObjectProvider.class);
+        userPrincipalCache = new UserPrincipalCache(redisTemplate, noContainer, 10_000, Duration.ofMinutes(5));
+        tokenVersionService = new TokenVersionService(
+                redisTemplate, userPrincipalCache, new SimpleMeterRegistry(), Duration.ofMinutes(5), Duration.ofMinutes(5)
+        );
+        config = new WebSecurityConfig(userRepository, jwtService, userPrincipalCache, tokenVersionService);
+    }
+
+    @Test
+    void queriesOncePerRequestWithoutThePrincipalCache() throws Exception {
+        JwtAuthFilter filter = new JwtAuthFilter(jwtService, config.userDetailsService(), tokenVersionService);
+
+        int perThousand = queriesPerThousandRequests(filter);
+
+        System.out.printf("without principal cache: %d queries per %,d requests%n", perThousand, REQUESTS);
+        assertThat(authenticated).hasValue(REQUESTS);
+        assertThat(perThousand).isEqualTo(REQUESTS);
+    }
+
+    @Test
+    void queriesOncePerUserWithThePrincipalCache() throws Exception {
+        JwtAuthFilter filter = config.jwtAuthFilter();
+
+        int perThousand = queriesPerThousandRequests(filter);
+
+        System.out.printf("with principal cache: %d queries per %,d requests%n", perThousand, REQUESTS);
+        assertThat(authenticated).hasValue(REQUESTS);
+        assertThat(perThousand).isEqualTo(USERS);
+    }
+
+    @Test
+    void reloadsOnlyTheEvictedUser() throws Exception {
+        JwtAuthFilter filter = config.jwtAuthFilter();
+        queriesPerThousandRequests(filter);
+
+        userPrincipalCache.evict(1);
+
+        assertThat(queriesPerThousandRequests(filter)).isEqualTo(1);
+    }
+
+    private int queriesPerThousandRequests(JwtAuthFilter filter) throws Exception {
+        int before = queries.get();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> requests = new ArrayList<>(REQUESTS);
+            for (int i = 0; i < REQUESTS; i++) {
+                String token = tokens.get(i % USERS);
+                requests.add(executor.submit(() -> {
+                    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/clients");
+                    request.setServletPath("/api/clients");
+                    request.addHeader("Authorization", "Bearer " + token);
+                    SecurityContextHolder.clearContext();
+                    filter.doFilter(request, new MockHttpServletResponse(), chain);
+                    return null;
+                }));
+            }
+            for (Future<?> request : requests) {
+                request.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return queries.get() - before;
+    }
+
+    private static User user(String email) {
+        int id = Integer.parseInt(email.substring(4, email.indexOf('@')));
+        return User.builder()
+                .id(id)
+                .name("Usuário " + id)
+                .email(email)
+                .company(Company.builder().id(1).name("Loja").type("Varejo").build())
+                .build();
+    }
+}
@@ -0,0 +1,121 @@
+package org.example.config;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import org.example.domain.company.Company;
+import org.example.domain.user.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtServiceTest {
+    private static final String SECRET = Base64.getEncoder()
+            .encodeToString("0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8));
+
+    private final User user = User.builder()
+            .id(7)
+            .name("Ana")
+            .email("ana@example.com")
+            .phoneNumber("11999990000")
+            .company(Company.builder().id(3).name("Loja").type("Varejo").build())
+            .build();
+
+    @Test
+    void servesRepeatedTokensFromTheCache() {
+        JwtService jwtService = jwtService(Duration.ofHours(1).toMillis(), Duration.ofMinutes(5), false);
+        String token = jwtService.generateToken(user);
+
+        Claims first = jwtService.parseVerified(token);
+
+        assertThat(first.getSubject()).isEqualTo("ana@example.com");
+        assertThat(jwtService.parseVerified(token)).isSameAs(first);
+    }
+
+    @Test
+    void cacheEntriesExpireAfterTheMaxTtl() throws InterruptedException {
+        JwtService jwtService = jwtService(Duration.ofHours(1).toMillis(), Duration.ofMillis(50), false);
+        String token = jwtService.generateToken(user);
+        Claims first = jwtService.parseVerified(token);
+
+        Thread.sleep(150);
+
+        Claims second = jwtService.parseVerified(token);
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getSubject()).isEqualTo(first.getSubject());
+    }
+
+    @Test
+    void cachedTokensStopVerifyingOnceExpired() throws InterruptedException {
+        JwtService jwtService = jwtService(1_000, Duration.ofMinutes(5), false);
+        String token = jwtService.generateToken(user);
+        jwtService.parseVerified(token);
+
+        Thread.sleep(2_100);
+
+        assertThatThrownBy(() -> jwtService.parseVerified(token)).isInstanceOf(ExpiredJwtException.class);
+    }
+
+    @Test
+    void rejectsTokensSignedWithAnotherKey() {
+        JwtService jwtService = jwtService(Duration.ofHours(1).toMillis(), Duration.ofMinutes(5), false);
+        JwtService other = jwtService(Duration.ofHours(1).toMillis(), Duration.ofMinutes(5), false);
+        ReflectionTestUtils.setField(other, "secretKey", Base64.getEncoder()
+                .encodeToString("fedcba9876543210fedcba9876543210".getBytes(StandardCharsets.UTF_8)));
+        other.init();
+
+        assertThatThrownBy(() -> jwtService.parseVerified(other.generateToken(user))).isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    void issuesTheTokenVersionInDefaultMode() {
+        JwtService jwtService = jwtService(Duration.ofHours(1).toMillis(), Duration.ofMinutes(5), false);
+
+        Claims claims = jwtService.parseVerified(jwtService.generateToken(user, 4));
+
+        assertThat(jwtService.extractTokenVersion(claims)).isEqualTo(4);
+        assertThat(jwtService.hasPrincipalClaims(claims)).isFalse();
+    }
+
+    @Test
+    void treatsTokensWithoutAVersionAsVersionZero() {
+        JwtService jwtService = jwtService(Duration.ofHours(1).toMillis(), Duration.ofMinutes(5), false);
+
+        assertThat(jwtService.extractTokenVersion(jwtService.parseVerified(jwtService.generateToken(user)))).isZero();
+    }
+
+    @Test
+    void rebuildsThePrincipalFromStatelessClaims() {
+        JwtService jwtService = jwtService(Duration.ofHours(1).toMillis(), Duration.ofMinutes(5), true);
+
+        Claims claims = jwtService.parseVerified(jwtService.generateToken(user, 2));
+        User principal = jwtService.principalFrom(claims);
+
+        assertThat(jwtService.hasPrincipalClaims(claims)).isTrue();
+        assertThat(principal.getId()).isEqualTo(7);
+        assertThat(principal.getEmail()).isEqualTo("ana@example.com");
+        assertThat(principal.getName()).isEqualTo("Ana");
+        assertThat(principal.getPhoneNumber()).isEqualTo("11999990000");
+        assertThat(principal.getPassword()).isNull();
+        assertThat(principal.getCompany().getId()).isEqualTo(3);
+        assertThat(principal.getCompany().getName()).isEqualTo("Loja");
+        assertThat(jwtService.isTokenValid(claims, principal)).isTrue();
+    }
+
+    private static JwtService jwtService(long expirationMillis, Duration cacheMaxTtl, boolean stateless) {
+        JwtService jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", expirationMillis);
+        ReflectionTestUtils.setField(jwtService, "stateless", stateless);
+        ReflectionTestUtils.setField(jwtService, "cacheMaxSize", 100L);
+        ReflectionTestUtils.setField(jwtService, "cacheMaxTtl", cacheMaxTtl);
+        jwtService.init();
+        return jwtService;
+    }
+}
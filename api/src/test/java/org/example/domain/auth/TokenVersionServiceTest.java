@@ -0,0 +1,81 @@
+package org.example.domain.auth;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.domain.user.UserPrincipalCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TokenVersionServiceTest {
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> values = mock(ValueOperations.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForValue()).thenReturn(values);
+    }
+
+    @Test
+    void keepsTheLastKnownVersionWhileRedisIsDown() {
+        TokenVersionService service = service(Duration.ofMinutes(5));
+        when(values.get(anyString())).thenReturn("3");
+        assertThat(service.current(1)).isEqualTo(3);
+
+        when(values.get(anyString())).thenThrow(new RedisConnectionFailureException("down"));
+
+        assertThat(service.isCurrent(1, 2)).isFalse();
+        assertThat(service.isCurrent(1, 3)).isTrue();
+        assertThat(fallbacks("last_known")).isEqualTo(2);
+    }
+
+    @Test
+    void failsOpenForUnseenUsersOnlyUntilMaxStale() throws InterruptedException {
+        TokenVersionService service = service(Duration.ofMillis(200));
+        when(values.get(anyString())).thenThrow(new RedisConnectionFailureException("down"));
+
+        assertThat(service.isCurrent(1, 0)).isTrue();
+        assertThat(fallbacks("fail_open")).isEqualTo(1);
+
+        Thread.sleep(300);
+
+        assertThatThrownBy(() -> service.current(1)).isInstanceOf(DataAccessException.class);
+    }
+
+    @Test
+    void outageWindowResetsOnceRedisAnswers() throws InterruptedException {
+        TokenVersionService service = service(Duration.ofMillis(200));
+        when(values.get(anyString()))
+                .thenThrow(new RedisConnectionFailureException("down"))
+                .thenReturn("5")
+                .thenThrow(new RedisConnectionFailureException("down again"));
+
+        assertThat(service.current(1)).isZero();
+        Thread.sleep(300);
+        assertThat(service.current(1)).isEqualTo(5);
+
+        assertThat(service.current(1)).isEqualTo(5);
+        assertThat(fallbacks("last_known")).isEqualTo(1);
+    }
+
+    private TokenVersionService service(Duration maxStale) {
+        // A zero TTL makes every check go to Redis, so each call exercises the fallback.
+        return new TokenVersionService(redisTemplate, mock(UserPrincipalCache.class), meterRegistry, Duration.ZERO, maxStale);
+    }
+
+    private double fallbacks(String outcome) {
+        return meterRegistry.counter("auth.token.version.fallback", "outcome", outcome).count();
+    }
+}
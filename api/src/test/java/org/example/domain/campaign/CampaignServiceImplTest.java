@@ -0,0 +1,93 @@
+package org.example.domain.campaign;
+
+import org.example.domain.client.ClientRepository;
+import org.example.domain.user.User;
+import org.example.exception.CustomExceptions;
+import org.example.service.WhatsAppQueue.WhatsAppQueue;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CampaignServiceImplTest {
+   private static final UUID CAMPAIGN_ID = UUID.randomUUID();
+   private static final String JOB_ID = CAMPAIGN_ID.toString();
+
+   private final ClientRepository clientRepository = mock(ClientRepository.class);
+   private final CampaignRepository campaignRepository = mock(CampaignRepository.class);
+   private final CampaignJobTracker campaignJobTracker = mock(CampaignJobTracker.class);
+   private final User user = User.builder().id(5).build();
+   private final CampaignServiceImpl service = service();
+
+   @Test
+   void servesTheCampaignRowOnceTheTrackerHasExpired() {
+      when(campaignJobTracker.find(JOB_ID, 5)).thenReturn(Optional.empty());
+      when(campaignRepository.findById(CAMPAIGN_ID)).thenReturn(Optional.of(campaign(5)));
+
+      CampaignRecord.CampaignJobStatus job = service.getCampaignJob(user, JOB_ID);
+
+      assertThat(job).isEqualTo(new CampaignRecord.CampaignJobStatus(JOB_ID, CampaignRecord.JobStatus.COMPLETED, 120, 100, 20, 0));
+   }
+
+   @Test
+   void hidesCampaignRowsOfOtherUsers() {
+      when(campaignJobTracker.find(JOB_ID, 5)).thenReturn(Optional.empty());
+      when(campaignRepository.findById(CAMPAIGN_ID)).thenReturn(Optional.of(campaign(6)));
+
+      assertThatThrownBy(() -> service.getCampaignJob(user, JOB_ID))
+        .isInstanceOf(CustomExceptions.ResourceNotFoundException.class);
+   }
+
+   @Test
+   void treatsMalformedJobIdsAsNotFound() {
+      when(campaignJobTracker.find(anyString(), eq(5))).thenReturn(Optional.empty());
+
+      assertThatThrownBy(() -> service.getCampaignJob(user, "not-a-uuid"))
+        .isInstanceOf(CustomExceptions.ResourceNotFoundException.class);
+   }
+
+   @Test
+   void savesTheTrackerCountsOnTheCampaignRowWhenFinished() {
+      when(campaignRepository.save(any(Campaign.class))).thenAnswer(inv -> inv.getArgument(0));
+      when(clientRepository.countByUserId(5L)).thenReturn(0L);
+      when(campaignJobTracker.find(anyString(), eq(5))).thenAnswer(inv -> Optional.of(
+        new CampaignRecord.CampaignJobStatus(inv.getArgument(0), CampaignRecord.JobStatus.COMPLETED, 3, 2, 1, 0)
+      ));
+
+      String jobId = service.scheduleCampaign(user, new CampaignRecord.SendCampaignRequest(
+        new CampaignRecord.CampaignMessageResponse("Olá", null, null, null), CampaignRecord.TargetingType.ALL, null, null, null
+      ));
+
+      verify(campaignRepository).finish(UUID.fromString(jobId), CampaignRecord.JobStatus.COMPLETED, 3, 2, 1);
+   }
+
+   private static Campaign campaign(Integer userId) {
+      return Campaign.builder()
+        .id(CAMPAIGN_ID)
+        .userId(userId)
+        .status(CampaignRecord.JobStatus.COMPLETED)
+        .totalMessages(120)
+        .enqueued(100)
+        .enqueueFailed(20)
+        .build();
+   }
+
+   private CampaignServiceImpl service() {
+      ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+      messageSource.setBasename("messages");
+      return new CampaignServiceImpl(
+        clientRepository, campaignRepository, mock(WhatsAppQueue.class), messageSource, campaignJobTracker, new SyncTaskExecutor()
+      );
+   }
+}
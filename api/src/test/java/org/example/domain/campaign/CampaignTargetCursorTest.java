@@ -0,0 +1,135 @@
+package org.example.domain.campaign;
+
+import org.example.domain.client.ClientRecord;
+import org.example.domain.client.ClientRepository;
+import org.example.domain.user.UserPrincipalCache;
+import org.example.support.TestPostgres;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIf("org.example.support.TestPostgres#available")
+class CampaignTargetCursorTest {
+   @Autowired
+   private ClientRepository clientRepository;
+
+   @Autowired
+   private JdbcTemplate jdbcTemplate;
+
+   // Needed by the User entity listener that evicts cached principals.
+   @MockBean
+   private UserPrincipalCache userPrincipalCache;
+
+   @DynamicPropertySource
+   static void postgres(DynamicPropertyRegistry registry) {
+      registry.add("spring.datasource.url", TestPostgres::jdbcUrl);
+      registry.add("spring.datasource.username", TestPostgres::username);
+      registry.add("spring.datasource.password", TestPostgres::password);
+      registry.add("spring.flyway.enabled", () -> "false");
+   }
+
+   @Test
+   void pagesThroughEveryClientOnceInIdOrder() {
+      Long owner = insertUser();
+      Long other = insertUser();
+      // Interleave two owners so each page boundary falls between ids the cursor must skip.
+      insertClients(owner, other, 2_500);
+      AtomicInteger fetches = new AtomicInteger();
+
+      List<Integer> ids = drain(new CampaignTargetCursor(
+        (afterId, limit) -> {
+           fetches.incrementAndGet();
+           return clientRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(owner, afterId, limit);
+        },
+        1_000
+      ));
+
+      assertThat(ids).isEqualTo(clientIds(owner));
+      assertThat(ids).hasSize(2_500).doesNotHaveDuplicates().isSorted();
+      assertThat(fetches).hasValue(3);
+   }
+
+   @Test
+   void stopsAfterAnExactlyFullLastPage() {
+      Long owner = insertUser();
+      insertClients(owner, insertUser(), 2_000);
+      AtomicInteger fetches = new AtomicInteger();
+
+      List<Integer> ids = drain(new CampaignTargetCursor(
+        (afterId, limit) -> {
+           fetches.incrementAndGet();
+           return clientRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(owner, afterId, limit);
+        },
+        1_000
+      ));
+
+      assertThat(ids).isEqualTo(clientIds(owner));
+      assertThat(fetches).hasValue(3);
+   }
+
+   @Test
+   void keepsTheLastPurchaseFilterAcrossPages() {
+      Long owner = insertUser();
+      insertClients(owner, insertUser(), 1_200);
+      LocalDate start = LocalDate.of(2024, 1, 1);
+      LocalDate end = LocalDate.of(2024, 1, 15);
+
+      List<Integer> ids = drain(new CampaignTargetCursor(
+        (afterId, limit) -> clientRepository.findByUserIdAndLastPurchaseBetweenAndIdGreaterThanOrderByIdAsc(owner, start, end, afterId, limit),
+        100
+      ));
+
+      assertThat(ids).isEqualTo(jdbcTemplate.queryForList(
+        "SELECT id FROM clients WHERE user_id = ? AND last_purchase BETWEEN ? AND ? ORDER BY id", Integer.class, owner, start, end
+      ));
+      assertThat(ids).isNotEmpty().doesNotHaveDuplicates();
+   }
+
+   private static List<Integer> drain(CampaignTargetCursor cursor) {
+      List<Integer> ids = new ArrayList<>();
+      while (cursor.hasNext()) {
+         ClientRecord.campaignTargetDTO target = cursor.next();
+         ids.add(target.id());
+      }
+      return ids;
+   }
+
+   private List<Integer> clientIds(Long owner) {
+      return jdbcTemplate.queryForList("SELECT id FROM clients WHERE user_id = ? ORDER BY id", Integer.class, owner);
+   }
+
+   private Long insertUser() {
+      String email = "cursor-" + System.nanoTime() + "@example.com";
+      return jdbcTemplate.queryForObject("INSERT INTO users (name, email) VALUES (?, ?) RETURNING id", Long.class, email, email);
+   }
+
+   // Rows alternate between the two owners; last_purchase cycles through January 2024.
+   private void insertClients(Long owner, Long other, int perOwner) {
+      jdbcTemplate.update("""
+        INSERT INTO clients (user_id, name, phone_number, product, amount, active, last_purchase)
+        SELECT CASE WHEN g % 2 = 0 THEN ? ELSE ? END,
+               'Cliente ' || g,
+               '8' || lpad(g::text, 10, '0'),
+               'Plano',
+               10.00,
+               true,
+               DATE '2024-01-01' + (g % 31)
+        FROM generate_series(0, ? - 1) AS g
+        """, owner, other, perOwner * 2);
+   }
+}
@@ -0,0 +1,105 @@
+package org.example.domain.campaign;
+
+import jakarta.persistence.EntityManager;
+import org.example.domain.client.Client;
+import org.example.domain.client.ClientRepository;
+import org.example.domain.user.UserPrincipalCache;
+import org.example.support.TestPostgres;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Heap retained while walking a 500k-client audience with the keyset cursor, next to loading the
+ * same audience as managed entities the way scheduleCampaign used to.
+ * Run with {@code mvn test -Pperf -Dtest=CampaignTargetMemoryPerfTest}.
+ */
+@Tag("perf")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIf("org.example.support.TestPostgres#available")
+class CampaignTargetMemoryPerfTest {
+   private static final int CLIENTS = 500_000;
+   private static final int PAGE_SIZE = 1_000;
+   private static final long MB = 1024 * 1024;
+
+   @Autowired
+   private ClientRepository clientRepository;
+
+   @Autowired
+   private JdbcTemplate jdbcTemplate;
+
+   @Autowired
+   private EntityManager entityManager;
+
+   @MockBean
+   private UserPrincipalCache userPrincipalCache;
+
+   @DynamicPropertySource
+   static void postgres(DynamicPropertyRegistry registry) {
+      registry.add("spring.datasource.url", TestPostgres::jdbcUrl);
+      registry.add("spring.datasource.username", TestPostgres::username);
+      registry.add("spring.datasource.password", TestPostgres::password);
+      registry.add("spring.flyway.enabled", () -> "false");
+   }
+
+   @Test
+   void cursorKeepsHeapFlatAcrossTheWholeAudience() {
+      String email = "memory-" + System.nanoTime() + "@example.com";
+      Long owner = jdbcTemplate.queryForObject("INSERT INTO users (name, email) VALUES (?, ?) RETURNING id", Long.class, email, email);
+      jdbcTemplate.update("""
+        INSERT INTO clients (user_id, name, phone_number, product, amount, active, last_purchase)
+        SELECT ?, 'Cliente ' || g, '7' || lpad(g::text, 10, '0'), 'Plano', 10.00, true, DATE '2024-01-01' + (g % 31)
+        FROM generate_series(1, ?) AS g
+        """, owner, CLIENTS);
+
+      long baseline = usedHeapAfterGc();
+      long cursorPeak = 0;
+      int walked = 0;
+      long start = System.nanoTime();
+      CampaignTargetCursor cursor = new CampaignTargetCursor(
+        (afterId, limit) -> clientRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(owner, afterId, limit),
+        PAGE_SIZE
+      );
+      while (cursor.hasNext()) {
+         cursor.next();
+         if (++walked % 50_000 == 0) {
+            cursorPeak = Math.max(cursorPeak, usedHeapAfterGc() - baseline);
+         }
+      }
+      long cursorMillis = (System.nanoTime() - start) / 1_000_000;
+
+      start = System.nanoTime();
+      List<Client> materialized = entityManager
+        .createQuery("SELECT c FROM Client c WHERE c.user.id = :owner", Client.class)
+        .setParameter("owner", owner.intValue())
+        .getResultList();
+      long materializedRetained = usedHeapAfterGc() - baseline;
+      long materializedMillis = (System.nanoTime() - start) / 1_000_000;
+
+      System.out.printf("%,d clients: cursor peak %,d MB in %,d ms; materialized entities %,d MB in %,d ms%n",
+        CLIENTS, cursorPeak / MB, cursorMillis, materializedRetained / MB, materializedMillis);
+      assertThat(walked).isEqualTo(CLIENTS);
+      assertThat(materialized).hasSize(CLIENTS);
+      assertThat(cursorPeak).isLessThan(32 * MB);
+      assertThat(cursorPeak).isLessThan(materializedRetained / 10);
+   }
+
+   private static long usedHeapAfterGc() {
+      System.gc();
+      System.gc();
+      return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+   }
+}
@@ -0,0 +1,102 @@
+package org.example.domain.campaign;
+
+import org.example.domain.client.ClientRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost per recipient of personalizing the four campaign parts: the old per-part
+ * {@code replace} plus regex split against the compiled templates.
+ * Run {@link #main} from the test classpath; the GC profiler reports allocations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CampaignTemplateBenchmark {
+   private static final String[] PARTS = {
+     "Olá [nome do cliente], tudo bem? Passando para lembrar da nossa conversa.",
+     "[nome do cliente], separamos uma condição especial para você este mês.",
+     "É só responder esta mensagem que a gente te ajuda, [nome do cliente].",
+     "Obrigado pela atenção!"
+   };
+   private static final String[] RICH_PARTS = {
+     "Olá [nome do cliente], tudo bem? Vimos que você comprou [produto] em [ultima compra].",
+     "[nome do cliente], a renovação de [produto] sai por [valor] este mês.",
+     "É só responder esta mensagem que a gente te ajuda, [nome do cliente].",
+     "Obrigado pela atenção!"
+   };
+
+   private final ClientRecord.campaignTargetDTO client = new ClientRecord.campaignTargetDTO(
+     1, "Maria Aparecida da Silva", "11999990000", "Plano Anual", new BigDecimal("1299.90"), LocalDate.of(2024, 3, 9)
+   );
+   private final CampaignTemplate[] templates = compile(PARTS);
+   private final CampaignTemplate[] richTemplates = compile(RICH_PARTS);
+   private final StringBuilder buffer = new StringBuilder(256);
+
+   @Benchmark
+   public void legacyReplace(Blackhole blackhole) {
+      for (String part : PARTS) {
+         blackhole.consume(part.replace("[nome do cliente]", legacyFirstName(client.name())));
+      }
+   }
+
+   @Benchmark
+   public void compiledTemplate(Blackhole blackhole) {
+      render(templates, blackhole);
+   }
+
+   @Benchmark
+   public void compiledTemplateAllPlaceholders(Blackhole blackhole) {
+      render(richTemplates, blackhole);
+   }
+
+   private void render(CampaignTemplate[] parts, Blackhole blackhole) {
+      for (CampaignTemplate template : parts) {
+         buffer.setLength(0);
+         template.renderTo(buffer, client);
+         blackhole.consume(buffer.toString());
+      }
+   }
+
+   // What CampaignServiceImpl did per part before templates were compiled.
+   private static String legacyFirstName(String fullName) {
+      if (fullName == null || fullName.trim().isEmpty()) {
+         return "Cliente";
+      }
+      return fullName.trim().split("\\s+")[0];
+   }
+
+   private static CampaignTemplate[] compile(String[] parts) {
+      CampaignTemplate[] compiled = new CampaignTemplate[parts.length];
+      for (int i = 0; i < parts.length; i++) {
+         compiled[i] = CampaignTemplate.compile(parts[i]);
+      }
+      return compiled;
+   }
+
+   public static void main(String[] args) throws RunnerException {
+      new Runner(new OptionsBuilder()
+        .include(CampaignTemplateBenchmark.class.getSimpleName())
+        .addProfiler(GCProfiler.class)
+        .build()).run();
+   }
+}
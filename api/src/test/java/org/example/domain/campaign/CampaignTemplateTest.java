@@ -0,0 +1,84 @@
+package org.example.domain.campaign;
+
+import org.example.domain.client.ClientRecord;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CampaignTemplateTest {
+   private static final ClientRecord.campaignTargetDTO CLIENT = new ClientRecord.campaignTargetDTO(
+     1, "  Maria da Silva", "11999990000", "Plano Anual", new BigDecimal("1234567.891"), LocalDate.of(2024, 3, 9)
+   );
+
+   @Test
+   void rendersEveryPlaceholder() {
+      CampaignTemplate template = CampaignTemplate.compile(
+        "Oi [nome do cliente], seu [produto] de [valor] comprado em [ultima compra] ([última compra])."
+      );
+
+      assertThat(render(template, CLIENT))
+        .isEqualTo("Oi Maria, seu Plano Anual de R$ 1.234.567,89 comprado em 09/03/2024 (09/03/2024).");
+   }
+
+   @Test
+   void leavesUnknownAndPartialPlaceholdersUntouched() {
+      CampaignTemplate template = CampaignTemplate.compile("[nome] [produto [nome do cliente]] [valor");
+
+      assertThat(render(template, CLIENT)).isEqualTo("[nome] [produto Maria] [valor");
+   }
+
+   @Test
+   void placeholdersAreCaseSensitive() {
+      CampaignTemplate template = CampaignTemplate.compile("[Produto] [PRODUTO] [produto]");
+
+      assertThat(render(template, CLIENT)).isEqualTo("[Produto] [PRODUTO] Plano Anual");
+   }
+
+   @Test
+   void rendersMissingValues() {
+      ClientRecord.campaignTargetDTO client = new ClientRecord.campaignTargetDTO(2, "   ", "11", null, null, null);
+      CampaignTemplate template = CampaignTemplate.compile("[nome do cliente]|[produto]|[valor]|[ultima compra]");
+
+      assertThat(render(template, client)).isEqualTo("Cliente|||");
+   }
+
+   @Test
+   void formatsSmallAndNegativeAmounts() {
+      CampaignTemplate template = CampaignTemplate.compile("[valor]");
+
+      assertThat(render(template, withAmount("0.05"))).isEqualTo("R$ 0,05");
+      assertThat(render(template, withAmount("999.995"))).isEqualTo("R$ 1.000,00");
+      assertThat(render(template, withAmount("-12.5"))).isEqualTo("-R$ 12,50");
+   }
+
+   @Test
+   void compiledCampaignSkipsBlankPartsAndReusesTheBuffer() {
+      Campaign campaign = Campaign.builder()
+        .userId(7)
+        .initial("Olá [nome do cliente]")
+        .promotion(" ")
+        .information(null)
+        .invite("Volte para [produto]")
+        .build();
+      CampaignTemplateCache.CompiledCampaign compiled = CampaignTemplateCache.CompiledCampaign.compile(campaign);
+      StringBuilder buffer = new StringBuilder();
+
+      assertThat(compiled.userId()).isEqualTo(7);
+      assertThat(compiled.parts()).hasSize(2);
+      assertThat(compiled.render(0, CLIENT, buffer)).isEqualTo("Olá Maria");
+      assertThat(compiled.render(1, CLIENT, buffer)).isEqualTo("Volte para Plano Anual");
+   }
+
+   private static ClientRecord.campaignTargetDTO withAmount(String amount) {
+      return new ClientRecord.campaignTargetDTO(3, "Ana", "11", "x", new BigDecimal(amount), null);
+   }
+
+   private static String render(CampaignTemplate template, ClientRecord.campaignTargetDTO client) {
+      StringBuilder out = new StringBuilder();
+      template.renderTo(out, client);
+      return out.toString();
+   }
+}
@@ -0,0 +1,123 @@
+package org.example.domain.campaign;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.domain.client.ClientRecord;
+import org.example.domain.client.ClientRepository;
+import org.example.exception.EvolutionApiException;
+import org.example.exception.EvolutionCircuitOpenException;
+import org.example.service.EvolutionApiService.EvolutionApiService;
+import org.example.service.EvolutionApiService.EvolutionCircuitBreaker;
+import org.example.service.WhatsAppQueue.WhatsAppQueue;
+import org.example.service.WhatsAppQueue.WhatsAppQueueRecord;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.support.ResourceBundleMessageSource;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WhatsAppMessageListenerTest {
+   private static final UUID CAMPAIGN_ID = UUID.randomUUID();
+
+   private final WhatsAppQueue queue = mock(WhatsAppQueue.class);
+   private final EvolutionApiService evolutionApiService = mock(EvolutionApiService.class);
+   private final EvolutionCircuitBreaker circuitBreaker = mock(EvolutionCircuitBreaker.class);
+   private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+   @Test
+   void defersBreakerRejectionsUntilReopenWithoutUsingAnAttempt() {
+      when(evolutionApiService.sendMessageAsync(anyString(), anyString(), any()))
+        .thenReturn(CompletableFuture.failedFuture(new EvolutionCircuitOpenException("aberto", Duration.ofSeconds(20))));
+      CampaignRecord.WhatsAppMessage message = new CampaignRecord.WhatsAppMessage(CAMPAIGN_ID.toString(), 5, 0, null, 2);
+      long before = System.currentTimeMillis();
+
+      WhatsAppQueueRecord.Delivery delivery = consumeOnce(message);
+
+      ArgumentCaptor<CampaignRecord.WhatsAppMessage> scheduled = ArgumentCaptor.forClass(CampaignRecord.WhatsAppMessage.class);
+      verify(queue, timeout(2_000)).defer(eq(delivery), scheduled.capture());
+      verify(queue, never()).retry(any());
+      assertThat(scheduled.getValue().attempts()).isEqualTo(2);
+      assertThat(scheduled.getValue().nextPart()).isZero();
+      assertThat(scheduled.getValue().notBefore()).isGreaterThanOrEqualTo(before + 20_000);
+      assertThat(meterRegistry.counter("whatsapp.consumer.messages", "worker", "0", "outcome", "circuit_open").count()).isEqualTo(1);
+   }
+
+   @Test
+   void retriesRealDeliveryFailures() {
+      when(evolutionApiService.sendMessageAsync(anyString(), anyString(), any()))
+        .thenReturn(CompletableFuture.failedFuture(new EvolutionApiException("falhou", 500, "")));
+      CampaignRecord.WhatsAppMessage message = new CampaignRecord.WhatsAppMessage(CAMPAIGN_ID.toString(), 5);
+
+      WhatsAppQueueRecord.Delivery delivery = consumeOnce(message);
+
+      verify(queue, timeout(2_000)).retry(delivery);
+      verify(queue, never()).defer(any(), any());
+   }
+
+   private WhatsAppQueueRecord.Delivery consumeOnce(CampaignRecord.WhatsAppMessage message) {
+      WhatsAppQueueRecord.Delivery delivery = new WhatsAppQueueRecord.Delivery("consumer", "receipt", new byte[0], message);
+      AtomicBoolean polled = new AtomicBoolean();
+      when(queue.poll(anyString(), any())).thenAnswer(invocation -> {
+         if (polled.compareAndSet(false, true)) {
+            return delivery;
+         }
+         Thread.sleep(20);
+         return null;
+      });
+      when(circuitBreaker.allowsTraffic()).thenReturn(true);
+
+      WhatsAppMessageListener listener = listener();
+      listener.start();
+      try {
+         verify(evolutionApiService, timeout(2_000)).sendMessageAsync(anyString(), anyString(), any());
+      } finally {
+         listener.stop();
+      }
+      return delivery;
+   }
+
+   private WhatsAppMessageListener listener() {
+      CampaignRepository campaignRepository = mock(CampaignRepository.class);
+      when(campaignRepository.findById(CAMPAIGN_ID)).thenReturn(Optional.of(Campaign.builder()
+        .id(CAMPAIGN_ID)
+        .userId(1)
+        .initial("Oi [nome do cliente]")
+        .sendProfile(CampaignRecord.SendProfile.BULK)
+        .build()));
+      ClientRepository clientRepository = mock(ClientRepository.class);
+      when(clientRepository.findTargetByIdAndUserId(5, 1L)).thenReturn(Optional.of(
+        new ClientRecord.campaignTargetDTO(5, "Ana", "5511999990000", "Plano", BigDecimal.TEN, LocalDate.of(2024, 1, 1))
+      ));
+      ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+      messageSource.setBasename("messages");
+
+      return new WhatsAppMessageListener(
+        queue,
+        new CampaignTemplateCache(campaignRepository, 16, Duration.ofMinutes(1)),
+        clientRepository,
+        evolutionApiService,
+        circuitBreaker,
+        messageSource,
+        meterRegistry,
+        1,
+        1,
+        Duration.ofMillis(50),
+        Duration.ofSeconds(5)
+      );
+   }
+}
@@ -0,0 +1,202 @@
+package org.example.domain.client;
+
+import org.example.domain.company.Company;
+import org.example.domain.user.User;
+import org.example.domain.user.UserRepository;
+import org.example.service.CSV.CsvHeaderAliasService;
+import org.example.support.TestPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * End-to-end import of a synthetic 1M-row CSV: parse, validate and write through the streaming
+ * importer against a real PostgreSQL, reporting rows/sec and the heap retained while it runs,
+ * plus the same pipeline over 200k rows writing through COPY and through batched INSERTs, and an
+ * UPSERT re-import of 100k rows with 10% changed.
+ * Run with {@code mvn test -Pperf -Dtest=ClientCsvImportPerfTest}.
+ */
+@Tag("perf")
+@EnabledIf("org.example.support.TestPostgres#available")
+class ClientCsvImportPerfTest {
+   private static final int ROWS = 1_000_000;
+   private static final int COMPARE_ROWS = 200_000;
+   private static final int REIMPORT_ROWS = 100_000;
+   private static final long MB = 1024 * 1024;
+   private static final Set<String> COLUMNS = Set.of("name", "phonenumber", "product", "amount", "lastpurchase");
+
+   private static SingleConnectionDataSource dataSource;
+   private static JdbcTemplate jdbcTemplate;
+   private static TransactionTemplate transactionTemplate;
+   private static Long userId;
+
+   private final UserRepository userRepository = mock(UserRepository.class);
+   private final CsvHeaderAliasService headerAliasService = mock(CsvHeaderAliasService.class);
+   private final ClientImportJobTracker importJobTracker = mock(ClientImportJobTracker.class);
+   private final ExecutorService validationExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+
+   @TempDir
+   Path spoolDir;
+
+   private ClientCsvImporter importer;
+
+   @BeforeAll
+   static void connect() {
+      dataSource = new SingleConnectionDataSource(TestPostgres.jdbcUrl(), TestPostgres.username(), TestPostgres.password(), true);
+      jdbcTemplate = new JdbcTemplate(dataSource);
+      transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+      String email = "import-" + System.nanoTime() + "@example.com";
+      userId = jdbcTemplate.queryForObject("INSERT INTO users (name, email) VALUES (?, ?) RETURNING id", Long.class, email, email);
+   }
+
+   @AfterAll
+   static void close() {
+      dataSource.destroy();
+   }
+
+   @BeforeEach
+   void setUp() throws IOException {
+      jdbcTemplate.execute("TRUNCATE clients RESTART IDENTITY");
+
+      User user = User.builder().id(userId.intValue()).company(Company.builder().id(1).build()).build();
+      when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+      when(headerAliasService.resolveCanonical(anyInt(), anyString())).thenAnswer(inv -> {
+         String raw = inv.<String>getArgument(1).toLowerCase(Locale.ROOT);
+         return COLUMNS.contains(raw) ? raw : null;
+      });
+      when(headerAliasService.requiredFields()).thenReturn(List.copyOf(COLUMNS));
+
+      importer = new ClientCsvImporter(
+        userRepository, new ClientJdbcRepository(jdbcTemplate), headerAliasService, importJobTracker, transactionTemplate,
+        validationExecutor, spoolDir.toString(), 0
+      );
+      ReflectionTestUtils.setField(importer, "importBatchSize", 1_000);
+      ReflectionTestUtils.setField(importer, "dedupWindow", 100_000);
+      importer.createSpoolDir();
+   }
+
+   @AfterEach
+   void shutDown() {
+      validationExecutor.shutdown();
+   }
+
+   @Test
+   void importsAMillionRowsInBoundedMemory() throws IOException {
+      writeCsv(importer.sourceFile("million"), ROWS);
+      long baseline = usedHeapAfterGc();
+      AtomicLong peak = new AtomicLong();
+      ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+      sampler.scheduleWithFixedDelay(() -> peak.accumulateAndGet(usedHeapAfterGc() - baseline, Math::max), 1, 2, TimeUnit.SECONDS);
+
+      long start = System.nanoTime();
+      try {
+         importer.run("million", userId, ClientRecord.ImportMode.BATCH);
+      } finally {
+         sampler.shutdownNow();
+      }
+      long elapsed = System.nanoTime() - start;
+
+      verify(importJobTracker).finish("million", ClientRecord.ImportStatus.COMPLETED, null);
+      assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM clients", Integer.class)).isEqualTo(ROWS);
+      System.out.printf("import %,d rows: %,d ms, %,.0f rows/s, retained heap peak %,d MB%n",
+        ROWS, elapsed / 1_000_000, ROWS / (elapsed / 1e9), peak.get() / MB);
+      assertThat(peak.get()).isLessThan(64 * MB);
+   }
+
+   @ParameterizedTest
+   @EnumSource(value = ClientRecord.ImportMode.class, names = {"BATCH", "COPY"})
+   void comparesCopyWithBatchedInserts(ClientRecord.ImportMode mode) throws IOException {
+      writeCsv(importer.sourceFile("compare"), COMPARE_ROWS);
+
+      long start = System.nanoTime();
+      importer.run("compare", userId, mode);
+      long elapsed = System.nanoTime() - start;
+
+      verify(importJobTracker).finish("compare", ClientRecord.ImportStatus.COMPLETED, null);
+      assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM clients", Integer.class)).isEqualTo(COMPARE_ROWS);
+      System.out.printf("%s %,d rows: %,d ms, %,.0f rows/s%n", mode, COMPARE_ROWS, elapsed / 1_000_000, COMPARE_ROWS / (elapsed / 1e9));
+   }
+
+   @Test
+   void reimportsAHundredThousandRowsWithTenPercentChanged() throws IOException {
+      writeCsv(importer.sourceFile("first"), REIMPORT_ROWS, 0);
+      importer.run("first", userId, ClientRecord.ImportMode.UPSERT);
+      long[] totals = new long[4];
+      doAnswer(inv -> {
+         for (int i = 0; i < totals.length; i++) {
+            totals[i] += inv.<Long>getArgument(i + 2);
+         }
+         return null;
+      }).when(importJobTracker).recordProgress(eq("again"), anyLong(), anyLong(), anyLong(), anyLong(), anyLong());
+      writeCsv(importer.sourceFile("again"), REIMPORT_ROWS, 10);
+
+      long start = System.nanoTime();
+      importer.run("again", userId, ClientRecord.ImportMode.UPSERT);
+      long elapsed = System.nanoTime() - start;
+
+      verify(importJobTracker).finish("again", ClientRecord.ImportStatus.COMPLETED, null);
+      System.out.printf("re-import %,d rows: %,d ms, %,.0f rows/s; inserted %,d, updated %,d, skipped %,d, rejected %,d%n",
+        REIMPORT_ROWS, elapsed / 1_000_000, REIMPORT_ROWS / (elapsed / 1e9), totals[0], totals[1], totals[2], totals[3]);
+      assertThat(totals).containsExactly(0, REIMPORT_ROWS / 10, REIMPORT_ROWS - REIMPORT_ROWS / 10, 0);
+      assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM clients WHERE amount >= 1000", Integer.class))
+        .isEqualTo(REIMPORT_ROWS / 10);
+   }
+
+   static void writeCsv(Path file, int rows) throws IOException {
+      writeCsv(file, rows, 0);
+   }
+
+   // Every changeEvery-th row gets a different amount; 0 writes the baseline file.
+   static void writeCsv(Path file, int rows, int changeEvery) throws IOException {
+      try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+         writer.write("name,phonenumber,product,amount,lastpurchase\n");
+         for (int i = 1; i <= rows; i++) {
+            int amount = i % 500 + (changeEvery > 0 && i % changeEvery == 0 ? 1_000 : 0);
+            writer.write(String.format("Cliente %d,7%010d,Plano %d,%d.%02d,%02d/01/2024%n", i, i, i % 10, amount, i % 100, i % 28 + 1));
+         }
+      }
+   }
+   private static long usedHeapAfterGc() {
+      System.gc();
+      System.gc();
+      return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+   }
+}
@@ -0,0 +1,103 @@
+package org.example.domain.client;
+
+import com.opencsv.CSVReader;
+import org.example.domain.company.Company;
+import org.example.domain.user.User;
+import org.example.domain.user.UserRepository;
+import org.example.service.CSV.CsvHeaderAliasService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ClientCsvImporterTest {
+   private static final Long USER_ID = 7L;
+   private static final Set<String> COLUMNS = Set.of("name", "phonenumber", "product", "amount", "lastpurchase");
+
+   private final UserRepository userRepository = mock(UserRepository.class);
+   private final ClientJdbcRepository clientJdbcRepository = mock(ClientJdbcRepository.class);
+   private final CsvHeaderAliasService headerAliasService = mock(CsvHeaderAliasService.class);
+   private final ClientImportJobTracker importJobTracker = mock(ClientImportJobTracker.class);
+   private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+
+   @TempDir
+   Path spoolDir;
+
+   private ClientCsvImporter importer;
+
+   @BeforeEach
+   void setUp() throws IOException {
+      User user = User.builder().id(USER_ID.intValue()).company(Company.builder().id(1).build()).build();
+      when(userRepository.findById(USER_ID)).thenReturn(Optional.of(user));
+      when(headerAliasService.resolveCanonical(eq(1), anyString())).thenAnswer(inv -> {
+         String raw = inv.<String>getArgument(1).toLowerCase(Locale.ROOT);
+         return COLUMNS.contains(raw) ? raw : null;
+      });
+      when(headerAliasService.requiredFields()).thenReturn(List.copyOf(COLUMNS));
+      when(transactionTemplate.execute(any())).thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+      when(clientJdbcRepository.insertAll(anyLong(), anyList())).thenAnswer(inv -> {
+         int[] counts = new int[inv.<List<?>>getArgument(1).size()];
+         Arrays.fill(counts, 1);
+         return counts;
+      });
+
+      importer = new ClientCsvImporter(
+        userRepository, clientJdbcRepository, headerAliasService, importJobTracker, transactionTemplate,
+        Runnable::run, spoolDir.toString(), 1
+      );
+      ReflectionTestUtils.setField(importer, "importBatchSize", 2);
+      ReflectionTestUtils.setField(importer, "dedupWindow", 100);
+      importer.createSpoolDir();
+   }
+
+   @Test
+   void reportsThePhysicalLineOfRejectedRowsAfterMultilineFields() throws Exception {
+      Files.writeString(importer.sourceFile("job"), String.join("\n",
+        "name,phonenumber,product,amount,lastpurchase",
+        "Ana,11999990001,Plano,10.00,01/01/2024",
+        "Bruno,11999990002,\"Plano",
+        "Anual\",20.00,02/01/2024",
+        "Carla,11999990003,Plano,abc,03/01/2024",
+        "Davi,11999990004,Plano,40.00,2024-01-04",
+        ""), StandardCharsets.UTF_8);
+
+      importer.run("job", USER_ID, ClientRecord.ImportMode.BATCH);
+
+      List<String[]> rejected = readRejected();
+      assertThat(rejected).hasSize(2);
+      assertThat(rejected.get(0)[0]).isEqualTo("Carla");
+      assertThat(rejected.get(0)[5]).startsWith("Linha 5: ");
+      assertThat(rejected.get(1)[0]).isEqualTo("Davi");
+      assertThat(rejected.get(1)[5]).startsWith("Linha 6: ");
+      verify(importJobTracker).finish("job", ClientRecord.ImportStatus.COMPLETED, null);
+   }
+
+   private List<String[]> readRejected() throws Exception {
+      try (CSVReader reader = new CSVReader(Files.newBufferedReader(importer.rejectedFile("job"), StandardCharsets.UTF_8))) {
+         List<String[]> rows = reader.readAll();
+         return rows.subList(1, rows.size());
+      }
+   }
+}
@@ -0,0 +1,81 @@
+package org.example.domain.client;
+
+import org.example.config.RedisQueueConfig;
+import org.example.support.TestRedis;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@EnabledIf("org.example.support.TestRedis#available")
+class ClientImportJobTrackerTest {
+   private static StringRedisTemplate redisTemplate;
+
+   private final ClientImportJobTracker tracker = new ClientImportJobTracker(redisTemplate);
+   private String jobId;
+
+   @BeforeAll
+   static void connect() {
+      redisTemplate = new StringRedisTemplate(TestRedis.connectionFactory());
+   }
+
+   @BeforeEach
+   void newJob() {
+      jobId = "test-" + UUID.randomUUID();
+   }
+
+   @Test
+   void addsUpProgressAcrossChunks() {
+      tracker.create(jobId, 1L, ClientRecord.ImportMode.UPSERT);
+
+      tracker.recordProgress(jobId, 10, 6, 2, 1, 1);
+      tracker.recordProgress(jobId, 5, 0, 5, 0, 0);
+
+      ClientRecord.importJobStatusDTO status = tracker.find(jobId, 1L).orElseThrow();
+      assertThat(status.parsed()).isEqualTo(15);
+      assertThat(status.inserted()).isEqualTo(6);
+      assertThat(status.updated()).isEqualTo(7);
+      assertThat(status.skipped()).isEqualTo(1);
+      assertThat(status.rejected()).isEqualTo(1);
+   }
+
+   @Test
+   void pollsNeverSeeAChunkHalfApplied() {
+      tracker.create(jobId, 1L, ClientRecord.ImportMode.UPSERT);
+      AtomicBoolean writing = new AtomicBoolean(true);
+      CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+         try {
+            for (int i = 0; i < 2_000; i++) {
+               tracker.recordProgress(jobId, 4, 1, 1, 1, 1);
+            }
+         } finally {
+            writing.set(false);
+         }
+      });
+
+      int polls = 0;
+      while (writing.get()) {
+         ClientRecord.importJobStatusDTO status = tracker.find(jobId, 1L).orElseThrow();
+         assertThat(status.inserted() + status.updated() + status.skipped() + status.rejected()).isEqualTo(status.parsed());
+         polls++;
+      }
+      writer.join();
+
+      assertThat(polls).isPositive();
+      assertThat(tracker.find(jobId, 1L).orElseThrow().parsed()).isEqualTo(8_000);
+   }
+
+   @Test
+   void leavesAnExpiredJobAlone() {
+      tracker.recordProgress(jobId, 10, 10, 0, 0, 0);
+
+      assertThat(redisTemplate.hasKey(RedisQueueConfig.CLIENT_IMPORT_JOB_PREFIX + jobId)).isFalse();
+   }
+}
@@ -0,0 +1,183 @@
+package org.example.domain.client;
+
+import org.example.support.TestPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@EnabledIf("org.example.support.TestPostgres#available")
+class ClientJdbcRepositoryTest {
+   // One connection for the whole class, so the session-scoped staging table is reused like on a pooled connection.
+   private static SingleConnectionDataSource dataSource;
+   private static JdbcTemplate jdbcTemplate;
+   private static TransactionTemplate transactionTemplate;
+   private static ClientJdbcRepository repository;
+   private static Long userId;
+
+   @BeforeAll
+   static void connect() {
+      dataSource = new SingleConnectionDataSource(TestPostgres.jdbcUrl(), TestPostgres.username(), TestPostgres.password(), true);
+
+      jdbcTemplate = new JdbcTemplate(dataSource);
+      transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+      repository = new ClientJdbcRepository(jdbcTemplate);
+      userId = insertUser("owner-" + System.nanoTime() + "@example.com");
+   }
+
+   @AfterAll
+   static void close() {
+      dataSource.destroy();
+   }
+
+   @BeforeEach
+   void clearClients() {
+      jdbcTemplate.execute("TRUNCATE clients RESTART IDENTITY");
+   }
+
+   @Test
+   void insertAllSkipsExistingPhones() {
+      repository.insertAll(userId, List.of(client("Ana", "11999990001")));
+
+      int[] counts = repository.insertAll(userId, List.of(client("Bia", "11999990002"), client("Ana de novo", "11999990001")));
+
+      assertThat(counts).containsExactly(1, 0);
+      assertThat(countClients()).isEqualTo(2);
+   }
+
+   @Test
+   void copyAndMergeReturnsOnlyInsertedPhones() {
+      repository.insertAll(userId, List.of(client("Ana", "11999990001")));
+
+      List<String> inserted = copyAndMerge(List.of(client("Ana de novo", "11999990001"), client("Bia", "11999990002")));
+
+      assertThat(inserted).containsExactly("11999990002");
+      assertThat(countClients()).isEqualTo(2);
+   }
+
+   @Test
+   void copyEscapesQuotesCommasAndNulls() {
+      Client client = client("Ana \"Aninha\", da Silva", "11999990003");
+      client.setProduct(null);
+
+      copyAndMerge(List.of(client));
+
+      assertThat(jdbcTemplate.queryForObject("SELECT name FROM clients WHERE phone_number = '11999990003'", String.class))
+        .isEqualTo("Ana \"Aninha\", da Silva");
+      assertThat(jdbcTemplate.queryForObject("SELECT product FROM clients WHERE phone_number = '11999990003'", String.class))
+        .isNull();
+   }
+
+   @Test
+   void stagingTableIsReusedAndEmptiedOnCommit() {
+      copyAndMerge(List.of(client("Ana", "11999990001")));
+
+      Integer staged = transactionTemplate.execute(status -> {
+         repository.createStagingTable();
+         return jdbcTemplate.queryForObject("SELECT count(*) FROM clients_import", Integer.class);
+      });
+
+      assertThat(staged).isZero();
+      assertThat(copyAndMerge(List.of(client("Bia", "11999990002")))).containsExactly("11999990002");
+   }
+
+   @Test
+   void upsertInsertsNewPhonesAsWritten() {
+      Map<String, ClientJdbcRepository.UpsertOutcome> outcomes = upsert(userId, client("Ana", "(11) 9999-0001"));
+
+      assertThat(outcomes).containsExactly(Map.entry("1199990001", ClientJdbcRepository.UpsertOutcome.INSERTED));
+      assertThat(jdbcTemplate.queryForObject("SELECT phone_number FROM clients", String.class)).isEqualTo("(11) 9999-0001");
+   }
+
+   @Test
+   void upsertMatchesFormattedStoredPhonesWithoutRewritingThem() {
+      repository.insertAll(userId, List.of(client("Ana", "(11) 9999-0001")));
+      Client changed = client("Ana Maria", "1199990001");
+
+      Map<String, ClientJdbcRepository.UpsertOutcome> outcomes = upsert(userId, changed);
+
+      assertThat(outcomes).containsExactly(Map.entry("1199990001", ClientJdbcRepository.UpsertOutcome.UPDATED));
+      assertThat(countClients()).isEqualTo(1);
+      assertThat(jdbcTemplate.queryForMap("SELECT name, phone_number FROM clients"))
+        .containsEntry("name", "Ana Maria")
+        .containsEntry("phone_number", "(11) 9999-0001");
+   }
+
+   @Test
+   void upsertLeavesUnchangedRowsOut() {
+      repository.insertAll(userId, List.of(client("Ana", "11999990001")));
+
+      assertThat(upsert(userId, client("Ana", "11999990001"))).isEmpty();
+   }
+
+   @Test
+   void upsertReportsPhonesOwnedByAnotherUser() {
+      Long otherUserId = insertUser("other-" + System.nanoTime() + "@example.com");
+      repository.insertAll(otherUserId, List.of(client("Ana", "11999990001")));
+
+      Map<String, ClientJdbcRepository.UpsertOutcome> outcomes = upsert(userId, client("Outra Ana", "11 99999-0001"));
+
+      assertThat(outcomes).containsExactly(Map.entry("11999990001", ClientJdbcRepository.UpsertOutcome.OWNED_BY_OTHER));
+      assertThat(jdbcTemplate.queryForMap("SELECT user_id, name FROM clients"))
+        .containsEntry("user_id", otherUserId.intValue())
+        .containsEntry("name", "Ana");
+   }
+
+   @Test
+   void upsertKeepsTheFirstOfRepeatedKeysInAChunk() {
+      Map<String, ClientJdbcRepository.UpsertOutcome> outcomes = transactionTemplate.execute(status -> repository.upsertAll(
+        userId,
+        List.of(client("Primeira", "11999990001"), client("Segunda", "(11)99999-0001")),
+        List.of("11999990001", "11999990001")
+      ));
+
+      assertThat(outcomes).containsExactly(Map.entry("11999990001", ClientJdbcRepository.UpsertOutcome.INSERTED));
+      assertThat(jdbcTemplate.queryForObject("SELECT name FROM clients", String.class)).isEqualTo("Primeira");
+   }
+
+   private Map<String, ClientJdbcRepository.UpsertOutcome> upsert(Long owner, Client client) {
+      String phoneKey = client.getPhoneNumber().replaceAll("\\D", "");
+      return transactionTemplate.execute(status -> repository.upsertAll(owner, List.of(client), List.of(phoneKey)));
+   }
+
+   private List<String> copyAndMerge(List<Client> clients) {
+      return transactionTemplate.execute(status -> {
+         repository.createStagingTable();
+         repository.copyToStagingTable(userId, clients);
+         return repository.mergeStagingTable();
+      });
+   }
+
+   private static Long insertUser(String email) {
+      return jdbcTemplate.queryForObject(
+        "INSERT INTO users (name, email) VALUES (?, ?) RETURNING id", Long.class, email, email
+      );
+   }
+
+   private static int countClients() {
+      return jdbcTemplate.queryForObject("SELECT count(*) FROM clients", Integer.class);
+   }
+
+   private static Client client(String name, String phoneNumber) {
+      return Client.builder()
+        .name(name)
+        .phoneNumber(phoneNumber)
+        .product("Plano")
+        .amount(new BigDecimal("10.00"))
+        .active(true)
+        .lastPurchase(LocalDate.of(2024, 1, 15))
+        .build();
+   }
+}
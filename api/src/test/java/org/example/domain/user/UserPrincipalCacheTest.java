@@ -0,0 +1,71 @@
+package org.example.domain.user;
+
+import org.example.config.RedisQueueConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserPrincipalCacheTest {
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+
+    @Test
+    void loadsEachUserOnce() {
+        UserPrincipalCache cache = cache(null);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("ana@example.com", email -> load(loads, 1, email));
+        User cached = cache.get("ana@example.com", email -> load(loads, 1, email));
+
+        assertThat(cached.getId()).isEqualTo(1);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void evictsByUserIdAndBroadcastsWhenRedisIsAvailable() {
+        RedisMessageListenerContainer container = mock(RedisMessageListenerContainer.class);
+        UserPrincipalCache cache = cache(container);
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("ana@example.com", email -> load(loads, 1, email));
+        cache.get("bia@example.com", email -> load(loads, 2, email));
+
+        cache.evict(1);
+        cache.get("ana@example.com", email -> load(loads, 1, email));
+        cache.get("bia@example.com", email -> load(loads, 2, email));
+
+        assertThat(loads).hasValue(3);
+        verify(redisTemplate).convertAndSend(RedisQueueConfig.USER_CACHE_EVICT_CHANNEL, "1");
+    }
+
+    @Test
+    void evictsLocallyOnlyWithoutAListenerContainer() {
+        UserPrincipalCache cache = cache(null);
+
+        cache.evict(1);
+
+        verify(redisTemplate, never()).convertAndSend(anyString(), any());
+    }
+
+    private UserPrincipalCache cache(RedisMessageListenerContainer container) {
+        @SuppressWarnings("unchecked")
+        ObjectProvider<RedisMessageListenerContainer> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(container);
+        return new UserPrincipalCache(redisTemplate, provider, 100, Duration.ofMinutes(5));
+    }
+
+    private static User load(AtomicInteger loads, int id, String email) {
+        loads.incrementAndGet();
+        return User.builder().id(id).email(email).build();
+    }
+}
@@ -0,0 +1,130 @@
+package org.example.service.EvolutionApiService;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.support.ResourceBundleMessageSource;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Requests/sec against a stub Evolution API with 10 ms of latency: blocking sends one at a time
+ * (how the listener sent before) against async sends with up to 64 in flight on the pooled client.
+ * Run with {@code mvn test -Pperf -Dtest=EvolutionApiLoadPerfTest}.
+ */
+@Tag("perf")
+class EvolutionApiLoadPerfTest {
+   private static final long LATENCY_MILLIS = 10;
+   private static final int IN_FLIGHT = 64;
+
+   static {
+      // Without TCP_NODELAY the stub's split header/body writes meet delayed ACKs on loopback and
+      // every response waits ~40 ms, which would measure the stub instead of the client.
+      System.setProperty("sun.net.httpserver.nodelay", "true");
+   }
+
+   private final AtomicInteger active = new AtomicInteger();
+   private final AtomicInteger maxActive = new AtomicInteger();
+   private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+   private HttpServer server;
+   private EvolutionApiService service;
+
+   @BeforeEach
+   void startStub() throws IOException {
+      // Per-request INFO/DEBUG lines to the console would dominate the measurement.
+      ((Logger) LoggerFactory.getLogger(EvolutionApiService.class)).setLevel(Level.WARN);
+      server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 256);
+      server.createContext("/message/sendText/test", exchange -> {
+         clientPorts.add(exchange.getRemoteAddress().getPort());
+         maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+         exchange.getRequestBody().readAllBytes();
+         try {
+            Thread.sleep(LATENCY_MILLIS);
+         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+         }
+         active.decrementAndGet();
+         byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+         exchange.sendResponseHeaders(200, body.length);
+         exchange.getResponseBody().write(body);
+         exchange.close();
+      });
+      server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+      server.start();
+
+      ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+      messageSource.setBasename("messages");
+      service = new EvolutionApiService(
+        "http://127.0.0.1:" + server.getAddress().getPort(),
+        "key",
+        "test",
+        Duration.ofSeconds(2),
+        Duration.ofSeconds(10),
+        1,
+        Duration.ofMillis(1),
+        Duration.ofMillis(5),
+        new ObjectMapper(),
+        messageSource,
+        mock(EvolutionRateLimiter.class),
+        new EvolutionCircuitBreaker(messageSource, new SimpleMeterRegistry(), 100, 50, 50, Duration.ofSeconds(5), Duration.ofMinutes(1), 1)
+      );
+   }
+
+   @AfterEach
+   void stopStub() {
+      service.closeSendExecutor();
+      server.stop(0);
+   }
+
+   @Test
+   void asyncSendsOnThePooledClientOutrunBlockingSends() {
+      int blockingRequests = 300;
+      long start = System.nanoTime();
+      for (int i = 0; i < blockingRequests; i++) {
+         service.sendMessage("5511999990000", "oi", null);
+      }
+      double blockingRate = blockingRequests / ((System.nanoTime() - start) / 1e9);
+      int blockingPorts = clientPorts.size();
+
+      clientPorts.clear();
+      maxActive.set(0);
+      int asyncRequests = 5_000;
+      Semaphore inFlight = new Semaphore(IN_FLIGHT);
+      List<CompletableFuture<Void>> sends = new ArrayList<>(asyncRequests);
+      start = System.nanoTime();
+      for (int i = 0; i < asyncRequests; i++) {
+         inFlight.acquireUninterruptibly();
+         sends.add(service.sendMessageAsync("5511999990000", "oi", null).whenComplete((result, error) -> inFlight.release()));
+      }
+      CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).join();
+      double asyncRate = asyncRequests / ((System.nanoTime() - start) / 1e9);
+
+      System.out.printf("blocking: %,.0f req/s over %d connection(s); async x%d: %,.0f req/s over %d connections, %d concurrent at the server%n",
+        blockingRate, blockingPorts, IN_FLIGHT, asyncRate, clientPorts.size(), maxActive.get());
+      assertThat(blockingPorts).isEqualTo(1);
+      assertThat(clientPorts.size()).isLessThanOrEqualTo(IN_FLIGHT);
+      assertThat(maxActive.get()).isGreaterThan(IN_FLIGHT / 2);
+      assertThat(asyncRate).isGreaterThan(blockingRate * 5);
+   }
+}
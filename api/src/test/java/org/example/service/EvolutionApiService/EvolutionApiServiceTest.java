@@ -0,0 +1,178 @@
+package org.example.service.EvolutionApiService;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.exception.EvolutionApiException;
+import org.example.exception.EvolutionCircuitOpenException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.ResourceBundleMessageSource;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class EvolutionApiServiceTest {
+   private final AtomicInteger requests = new AtomicInteger();
+   private final AtomicInteger active = new AtomicInteger();
+   private final AtomicInteger maxActive = new AtomicInteger();
+   private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+   private volatile int status = 200;
+   private volatile long latencyMillis;
+   private HttpServer server;
+
+   @BeforeEach
+   void startStub() throws IOException {
+      server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+      server.createContext("/message/sendText/test", exchange -> {
+         requests.incrementAndGet();
+         clientPorts.add(exchange.getRemoteAddress().getPort());
+         maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+         exchange.getRequestBody().readAllBytes();
+         try {
+            Thread.sleep(latencyMillis);
+         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+         }
+         active.decrementAndGet();
+         byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+         exchange.sendResponseHeaders(status, body.length);
+         exchange.getResponseBody().write(body);
+         exchange.close();
+      });
+      server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+      server.start();
+   }
+
+   @AfterEach
+   void stopStub() {
+      server.stop(0);
+   }
+
+   @Test
+   void failsFastWithoutCallingTheApiWhileTheBreakerIsOpen() {
+      EvolutionCircuitBreaker breaker = breaker(Duration.ofMinutes(1));
+      EvolutionApiService service = service(breaker, 1);
+      status = 503;
+
+      for (int i = 0; i < 4; i++) {
+         assertThatThrownBy(() -> service.sendMessage("5511999990000", "oi", null)).isInstanceOf(EvolutionApiException.class);
+      }
+      assertThat(breaker.getState()).isEqualTo(EvolutionCircuitBreaker.State.OPEN);
+
+      assertThatThrownBy(() -> service.sendMessage("5511999990000", "oi", null))
+        .isInstanceOfSatisfying(EvolutionCircuitOpenException.class, e -> assertThat(e.getRetryAfter()).isPositive());
+      assertThat(requests).hasValue(4);
+   }
+
+   @Test
+   void stopsRetryingOnceTheBreakerOpens() {
+      EvolutionCircuitBreaker breaker = breaker(Duration.ofMinutes(1));
+      EvolutionApiService service = service(breaker, 10);
+      status = 500;
+
+      assertThatThrownBy(() -> service.sendMessage("5511999990000", "oi", null)).isInstanceOf(EvolutionApiException.class);
+
+      assertThat(breaker.getState()).isEqualTo(EvolutionCircuitBreaker.State.OPEN);
+      assertThat(requests).hasValue(4);
+   }
+
+   @Test
+   void probesAndClosesOnceTheApiRecovers() throws InterruptedException {
+      EvolutionCircuitBreaker breaker = breaker(Duration.ofMillis(200));
+      EvolutionApiService service = service(breaker, 1);
+      status = 503;
+      for (int i = 0; i < 4; i++) {
+         assertThatThrownBy(() -> service.sendMessage("5511999990000", "oi", null)).isInstanceOf(EvolutionApiException.class);
+      }
+
+      status = 200;
+      Thread.sleep(250);
+      service.sendMessage("5511999990000", "oi", null);
+
+      assertThat(breaker.getState()).isEqualTo(EvolutionCircuitBreaker.State.CLOSED);
+      assertThat(requests).hasValue(5);
+   }
+
+   @Test
+   void doesNotCountClientErrorsAgainstTheBreaker() {
+      EvolutionCircuitBreaker breaker = breaker(Duration.ofMinutes(1));
+      EvolutionApiService service = service(breaker, 3);
+      status = 400;
+
+      for (int i = 0; i < 6; i++) {
+         assertThatThrownBy(() -> service.sendMessage("5511999990000", "oi", null)).isInstanceOf(EvolutionApiException.class);
+      }
+
+      assertThat(breaker.getState()).isEqualTo(EvolutionCircuitBreaker.State.CLOSED);
+      assertThat(requests).hasValue(6);
+   }
+
+   @Test
+   void reusesOneConnectionForSequentialSends() {
+      EvolutionApiService service = service(breaker(Duration.ofMinutes(1)), 1);
+
+      for (int i = 0; i < 20; i++) {
+         service.sendMessage("5511999990000", "oi", null);
+      }
+
+      assertThat(requests).hasValue(20);
+      assertThat(clientPorts).hasSize(1);
+   }
+
+   @Test
+   void keepsAsyncSendsInFlightTogether() {
+      EvolutionApiService service = service(breaker(Duration.ofMinutes(1)), 1);
+      latencyMillis = 200;
+
+      List<CompletableFuture<Void>> sends = new ArrayList<>();
+      for (int i = 0; i < 16; i++) {
+         sends.add(service.sendMessageAsync("5511999990000", "oi", null));
+      }
+      CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).join();
+
+      assertThat(maxActive.get()).isGreaterThan(1);
+      assertThat(clientPorts.size()).isLessThanOrEqualTo(16);
+   }
+
+   private EvolutionApiService service(EvolutionCircuitBreaker breaker, int maxAttempts) {
+      return new EvolutionApiService(
+        "http://127.0.0.1:" + server.getAddress().getPort(),
+        "key",
+        "test",
+        Duration.ofSeconds(2),
+        Duration.ofSeconds(2),
+        maxAttempts,
+        Duration.ofMillis(1),
+        Duration.ofMillis(5),
+        new ObjectMapper(),
+        messageSource(),
+        mock(EvolutionRateLimiter.class),
+        breaker
+      );
+   }
+
+   private static EvolutionCircuitBreaker breaker(Duration openDuration) {
+      return new EvolutionCircuitBreaker(messageSource(), new SimpleMeterRegistry(), 8, 4, 50, Duration.ofSeconds(1), openDuration, 1);
+   }
+
+   private static ResourceBundleMessageSource messageSource() {
+      ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+      messageSource.setBasename("messages");
+      return messageSource;
+   }
+}
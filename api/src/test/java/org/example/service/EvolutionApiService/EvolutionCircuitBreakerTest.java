@@ -0,0 +1,134 @@
+package org.example.service.EvolutionApiService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.ResourceBundleMessageSource;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EvolutionCircuitBreakerTest {
+   private static final long FAST = Duration.ofMillis(10).toNanos();
+
+   @Test
+   void staysClosedBelowMinimumCalls() {
+      EvolutionCircuitBreaker breaker = breaker(Duration.ofMinutes(1));
+
+      for (int i = 0; i < 3; i++) {
+         breaker.onFailure();
+      }
+
+      assertThat(breaker.getState()).isEqualTo(EvolutionCircuitBreaker.State.CLOSED);
+      assertThat(breaker.tryAcquirePermission()).isTrue();
+   }
+
+   @Test
+   void opensAtFailureRateThresholdAndRejectsWhileOpen() {
+      EvolutionCircuitBreaker breaker = breaker(Duration.ofMinutes(1));
+
+      breaker.onSuccess(FAST);
+      breaker.onSuccess(FAST);
+      breaker.onFailure();
+      breaker.onFailure();
+
+      assertThat(breaker.getState()).isEqualTo(EvolutionCircuitBreaker.State.OPEN);
+      assertThat(breaker.allowsTraffic()).isFalse();
+      assertThat(breaker.tryAcquirePermission()).isFalse();
+      assertThat(breaker.remainingOpenTime()).isPositive();
+   }
+
+   @Test
+   void countsSlowCallsAsFailures() {
+      EvolutionCircuitBreaker breaker = breaker(Duration.ofMinutes(1));
+
+      for (int i = 0; i < 4; i++) {
+         breaker.onSuccess(Duration.ofSeconds(2).toNanos());
+      }
+
+      assertThat(breaker.getState()).isEqualTo(EvolutionCircuitBreaker.State.OPEN);
+   }
+
+   @Test
+   void oldFailuresSlideOutOfTheWindow() {
+      EvolutionCircuitBreaker breaker = breaker(Duration.ofMinutes(1));
+
+      breaker.onFailure();
+      for (int i = 0; i < 7; i++) {
+         breaker.onSuccess(FAST);
+      }
+      breaker.onFailure();
+      breaker.onFailure();
+      breaker.onFailure();
+
+      // Window of 8: the first failure has been evicted, leaving 3 of 8 failed.
+      assertThat(breaker.getState()).isEqualTo(EvolutionCircuitBreaker.State.CLOSED);
+   }
+
+   @Test
+   void halfOpenClosesAfterEnoughSuccesses() {
+      EvolutionCircuitBreaker breaker = openBreaker(Duration.ZERO);
+
+      assertThat(breaker.allowsTraffic()).isTrue();
+      assertThat(breaker.tryAcquirePermission()).isTrue();
+      assertThat(breaker.getState()).isEqualTo(EvolutionCircuitBreaker.State.HALF_OPEN);
+      assertThat(breaker.tryAcquirePermission()).isTrue();
+      assertThat(breaker.tryAcquirePermission()).isFalse();
+
+      breaker.onSuccess(FAST);
+      assertThat(breaker.getState()).isEqualTo(EvolutionCircuitBreaker.State.HALF_OPEN);
+      breaker.onSuccess(FAST);
+
+      assertThat(breaker.getState()).isEqualTo(EvolutionCircuitBreaker.State.CLOSED);
+      assertThat(breaker.remainingOpenTime()).isZero();
+   }
+
+   @Test
+   void halfOpenReopensOnFailure() {
+      EvolutionCircuitBreaker breaker = openBreaker(Duration.ZERO);
+
+      assertThat(breaker.tryAcquirePermission()).isTrue();
+      breaker.onFailure();
+
+      assertThat(breaker.getState()).isEqualTo(EvolutionCircuitBreaker.State.OPEN);
+   }
+
+   @Test
+   void closingResetsTheWindow() {
+      EvolutionCircuitBreaker breaker = openBreaker(Duration.ZERO);
+      breaker.tryAcquirePermission();
+      breaker.tryAcquirePermission();
+      breaker.onSuccess(FAST);
+      breaker.onSuccess(FAST);
+
+      breaker.onFailure();
+      breaker.onFailure();
+      breaker.onFailure();
+
+      assertThat(breaker.getState()).isEqualTo(EvolutionCircuitBreaker.State.CLOSED);
+   }
+
+   private static EvolutionCircuitBreaker openBreaker(Duration openDuration) {
+      EvolutionCircuitBreaker breaker = breaker(openDuration);
+      for (int i = 0; i < 4; i++) {
+         breaker.onFailure();
+      }
+      assertThat(breaker.getState()).isEqualTo(EvolutionCircuitBreaker.State.OPEN);
+      return breaker;
+   }
+
+   private static EvolutionCircuitBreaker breaker(Duration openDuration) {
+      ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+      messageSource.setBasename("messages");
+      return new EvolutionCircuitBreaker(
+        messageSource,
+        new SimpleMeterRegistry(),
+        8,
+        4,
+        50,
+        Duration.ofSeconds(1),
+        openDuration,
+        2
+      );
+   }
+}
@@ -0,0 +1,141 @@
+package org.example.service.EvolutionApiService;
+
+import org.example.exception.CustomExceptions;
+import org.example.support.TestRedis;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.withinPercentage;
+
+@EnabledIf("org.example.support.TestRedis#available")
+class EvolutionRateLimiterTest {
+   private static StringRedisTemplate redisTemplate;
+
+   private String instance;
+
+   @BeforeAll
+   static void connect() {
+      redisTemplate = new StringRedisTemplate(TestRedis.connectionFactory());
+   }
+
+   @BeforeEach
+   void newBucket() {
+      instance = "test-" + UUID.randomUUID();
+   }
+
+   @Test
+   void grantsTheBurstImmediately() {
+      EvolutionRateLimiter limiter = limiter(1, 3, Duration.ZERO);
+
+      limiter.acquire();
+      limiter.acquire();
+      limiter.acquire();
+
+      assertThatThrownBy(limiter::acquire).isInstanceOf(CustomExceptions.RateLimitExceededException.class);
+   }
+
+   @Test
+   void waitsForTheNextTokenOnceTheBurstIsSpent() {
+      EvolutionRateLimiter limiter = limiter(10, 1, Duration.ofSeconds(5));
+
+      limiter.acquire();
+      long start = System.nanoTime();
+      limiter.acquire();
+
+      assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(50));
+   }
+
+   @Test
+   void refillsOverTime() throws InterruptedException {
+      EvolutionRateLimiter limiter = limiter(20, 1, Duration.ZERO);
+
+      limiter.acquire();
+      Thread.sleep(100);
+
+      limiter.acquire();
+   }
+
+   @Test
+   void instancesSharingAnEvolutionInstanceShareTheBucket() {
+      EvolutionRateLimiter first = limiter(1, 2, Duration.ZERO);
+      EvolutionRateLimiter second = limiter(1, 2, Duration.ZERO);
+
+      first.acquire();
+      second.acquire();
+
+      assertThatThrownBy(first::acquire).isInstanceOf(CustomExceptions.RateLimitExceededException.class);
+      assertThat(redisTemplate.getExpire("ratelimit:evolution:" + instance)).isPositive();
+   }
+
+   @Test
+   void holdsTheRateUnderConcurrentCallers() throws InterruptedException {
+      int callers = 64;
+      int permitsPerCaller = 4;
+      double permitsPerSecond = 100;
+      EvolutionRateLimiter limiter = limiter(permitsPerSecond, 1, Duration.ofSeconds(10));
+      ConcurrentLinkedQueue<Long> grantedAt = new ConcurrentLinkedQueue<>();
+      AtomicInteger rejected = new AtomicInteger();
+      CountDownLatch start = new CountDownLatch(1);
+
+      ExecutorService executor = Executors.newFixedThreadPool(callers);
+      for (int i = 0; i < callers; i++) {
+         executor.execute(() -> {
+            try {
+               start.await();
+               for (int p = 0; p < permitsPerCaller; p++) {
+                  limiter.acquire();
+                  grantedAt.add(System.nanoTime());
+               }
+            } catch (InterruptedException | CustomExceptions.RateLimitExceededException e) {
+               rejected.incrementAndGet();
+            }
+         });
+      }
+      start.countDown();
+      executor.shutdown();
+      assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+      List<Long> grants = grantedAt.stream().sorted().toList();
+      double elapsedSeconds = (grants.get(grants.size() - 1) - grants.get(0)) / 1e9;
+      double observedRate = (grants.size() - 1) / elapsedSeconds;
+
+      assertThat(rejected).hasValue(0);
+      assertThat(grants).hasSize(callers * permitsPerCaller);
+      assertThat(observedRate).isCloseTo(permitsPerSecond, withinPercentage(10));
+      assertThat(maxGrantsWithin(grants, Duration.ofSeconds(1))).isLessThanOrEqualTo(110);
+   }
+
+   private static int maxGrantsWithin(List<Long> grants, Duration window) {
+      int max = 0;
+      int first = 0;
+      for (int last = 0; last < grants.size(); last++) {
+         while (grants.get(last) - grants.get(first) >= window.toNanos()) {
+            first++;
+         }
+         max = Math.max(max, last - first + 1);
+      }
+      return max;
+   }
+
+   private EvolutionRateLimiter limiter(double permitsPerSecond, int burst, Duration maxWait) {
+      ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+      messageSource.setBasename("messages");
+      return new EvolutionRateLimiter(redisTemplate, messageSource, instance, permitsPerSecond, burst, maxWait);
+   }
+}
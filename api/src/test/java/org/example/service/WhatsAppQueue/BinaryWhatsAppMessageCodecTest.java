@@ -0,0 +1,112 @@
+package org.example.service.WhatsAppQueue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.domain.campaign.CampaignRecord;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.ResourceBundleMessageSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BinaryWhatsAppMessageCodecTest {
+   private final ObjectMapper objectMapper = new ObjectMapper();
+   private final BinaryWhatsAppMessageCodec codec = new BinaryWhatsAppMessageCodec(objectMapper, messageSource());
+
+   @Test
+   void roundTripsMessageWithoutNotBefore() {
+      CampaignRecord.WhatsAppMessage message = new CampaignRecord.WhatsAppMessage(UUID.randomUUID().toString(), 42, 3, null, 1);
+
+      byte[] payload = codec.encode(message);
+
+      assertThat(payload).hasSize(26);
+      assertThat(codec.decode(payload)).isEqualTo(message);
+   }
+
+   @Test
+   void roundTripsMessageWithNotBefore() {
+      CampaignRecord.WhatsAppMessage message = new CampaignRecord.WhatsAppMessage(UUID.randomUUID().toString(), 7, 0, 1_700_000_000_000L, 0);
+
+      assertThat(codec.decode(codec.encode(message))).isEqualTo(message);
+   }
+
+   @Test
+   void roundTripsUnsignedShortBoundaries() {
+      CampaignRecord.WhatsAppMessage message = new CampaignRecord.WhatsAppMessage(UUID.randomUUID().toString(), Integer.MAX_VALUE, 0xFFFF, null, 0xFFFF);
+
+      assertThat(codec.decode(codec.encode(message))).isEqualTo(message);
+   }
+
+   @Test
+   void rejectsValuesThatDoNotFitInAnUnsignedShort() {
+      String campaignId = UUID.randomUUID().toString();
+
+      assertThatThrownBy(() -> codec.encode(new CampaignRecord.WhatsAppMessage(campaignId, 1, 0x10000, null, 0)))
+        .isInstanceOf(IllegalArgumentException.class);
+      assertThatThrownBy(() -> codec.encode(new CampaignRecord.WhatsAppMessage(campaignId, 1, 0, null, -1)))
+        .isInstanceOf(IllegalArgumentException.class);
+   }
+
+   @Test
+   void rejectsMissingClientIdAndInvalidCampaignId() {
+      assertThatThrownBy(() -> codec.encode(new CampaignRecord.WhatsAppMessage(UUID.randomUUID().toString(), null)))
+        .isInstanceOf(IllegalArgumentException.class);
+      assertThatThrownBy(() -> codec.encode(new CampaignRecord.WhatsAppMessage("not-a-uuid", 1)))
+        .isInstanceOf(IllegalArgumentException.class);
+   }
+
+   @Test
+   void decodesLegacyJsonEntries() throws Exception {
+      CampaignRecord.WhatsAppMessage message = new CampaignRecord.WhatsAppMessage(UUID.randomUUID().toString(), 9, 2, 123L, 4);
+
+      byte[] legacy = objectMapper.writeValueAsBytes(message);
+
+      assertThat(legacy[0]).isEqualTo(WhatsAppMessageCodec.JSON_MARKER);
+      assertThat(codec.decode(legacy)).isEqualTo(message);
+   }
+
+   @Test
+   void jsonCodecWritesEntriesTheBinaryCodecCanRead() {
+      JsonWhatsAppMessageCodec jsonCodec = new JsonWhatsAppMessageCodec(objectMapper, messageSource());
+      CampaignRecord.WhatsAppMessage message = new CampaignRecord.WhatsAppMessage(UUID.randomUUID().toString(), 5);
+
+      assertThat(codec.decode(jsonCodec.encode(message))).isEqualTo(message);
+      assertThat(jsonCodec.decode(codec.encode(message))).isEqualTo(message);
+   }
+
+   @Test
+   void rejectsEmptyTruncatedAndUnknownPayloads() {
+      byte[] payload = codec.encode(new CampaignRecord.WhatsAppMessage(UUID.randomUUID().toString(), 1));
+
+      assertThatThrownBy(() -> codec.decode(new byte[0])).isInstanceOf(IllegalArgumentException.class);
+      assertThatThrownBy(() -> codec.decode(Arrays.copyOf(payload, payload.length - 1))).isInstanceOf(IllegalArgumentException.class);
+      assertThatThrownBy(() -> codec.decode(new byte[]{9, 0})).isInstanceOf(IllegalArgumentException.class);
+      assertThatThrownBy(() -> codec.decode("{not json".getBytes(StandardCharsets.UTF_8))).isInstanceOf(IllegalArgumentException.class);
+   }
+
+   @Test
+   void rejectsTrailingBytes() {
+      byte[] payload = codec.encode(new CampaignRecord.WhatsAppMessage(UUID.randomUUID().toString(), 1));
+      byte[] withNotBefore = codec.encode(new CampaignRecord.WhatsAppMessage(UUID.randomUUID().toString(), 1, 0, 5L, 0));
+
+      assertThatThrownBy(() -> codec.decode(Arrays.copyOf(payload, payload.length + 1))).isInstanceOf(IllegalArgumentException.class);
+      assertThatThrownBy(() -> codec.decode(Arrays.copyOf(withNotBefore, withNotBefore.length + 8))).isInstanceOf(IllegalArgumentException.class);
+   }
+
+   @Test
+   void rejectsUnknownFlagBits() {
+      byte[] payload = codec.encode(new CampaignRecord.WhatsAppMessage(UUID.randomUUID().toString(), 1));
+      payload[1] = 2;
+
+      assertThatThrownBy(() -> codec.decode(payload)).isInstanceOf(IllegalArgumentException.class);
+   }
+
+   private static ResourceBundleMessageSource messageSource() {
+      ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+      messageSource.setBasename("messages");
+      return messageSource;
+   }
+}
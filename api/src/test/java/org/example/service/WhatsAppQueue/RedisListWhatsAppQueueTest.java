@@ -0,0 +1,100 @@
+package org.example.service.WhatsAppQueue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.config.RedisConfig;
+import org.example.config.RedisQueueConfig;
+import org.example.domain.campaign.CampaignRecord;
+import org.example.support.TestRedis;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@EnabledIf("org.example.support.TestRedis#available")
+class RedisListWhatsAppQueueTest {
+   private static final Duration POLL_TIMEOUT = Duration.ofMillis(100);
+
+   private static StringRedisTemplate redisTemplate;
+   private static RedisTemplate<String, byte[]> queueRedisTemplate;
+
+   private RedisListWhatsAppQueue queue;
+   private String consumerId;
+
+   @BeforeAll
+   static void connect() {
+      redisTemplate = new StringRedisTemplate(TestRedis.connectionFactory());
+      queueRedisTemplate = new RedisConfig().queueRedisTemplate(TestRedis.connectionFactory());
+      queueRedisTemplate.afterPropertiesSet();
+   }
+
+   @BeforeEach
+   void emptyQueue() {
+      redisTemplate.delete(List.of(
+        RedisQueueConfig.WHATSAPP_MESSAGES_QUEUE,
+        RedisQueueConfig.WHATSAPP_DELAYED_QUEUE,
+        RedisQueueConfig.WHATSAPP_DEAD_LETTER_QUEUE,
+        RedisQueueConfig.WHATSAPP_CONSUMERS
+      ));
+      ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+      messageSource.setBasename("messages");
+      queue = new RedisListWhatsAppQueue(
+        redisTemplate,
+        queueRedisTemplate,
+        new BinaryWhatsAppMessageCodec(new ObjectMapper(), messageSource),
+        messageSource,
+        5,
+        Duration.ofSeconds(30),
+        Duration.ofMinutes(2),
+        500
+      );
+      consumerId = "test-" + UUID.randomUUID();
+   }
+
+   @Test
+   void releasePutsEntriesBackWithoutSpendingAnAttempt() {
+      queue.enqueueAll(List.of(message(1)));
+      queue.poll(consumerId, POLL_TIMEOUT);
+
+      queue.release(consumerId);
+
+      WhatsAppQueueRecord.Delivery redelivered = queue.poll("other-" + consumerId, POLL_TIMEOUT);
+      assertThat(redelivered.message().clientId()).isEqualTo(1);
+      assertThat(redelivered.message().attempts()).isZero();
+      assertThat(redisTemplate.hasKey(RedisQueueConfig.WHATSAPP_PROCESSING_PREFIX + consumerId)).isFalse();
+   }
+
+   @Test
+   void releaseLeavesSettledEntriesAlone() {
+      queue.enqueueAll(List.of(message(1)));
+      queue.ack(queue.poll(consumerId, POLL_TIMEOUT));
+
+      queue.release(consumerId);
+
+      assertThat(queue.poll("other-" + consumerId, POLL_TIMEOUT)).isNull();
+   }
+
+   @Test
+   void reaperCountsAnAttemptForConsumersThatDied() {
+      queue.enqueueAll(List.of(message(1)));
+      queue.poll(consumerId, POLL_TIMEOUT);
+      redisTemplate.delete(RedisQueueConfig.WHATSAPP_HEARTBEAT_PREFIX + consumerId);
+
+      queue.reapStaleConsumers();
+
+      WhatsAppQueueRecord.Delivery redelivered = queue.poll("other-" + consumerId, POLL_TIMEOUT);
+      assertThat(redelivered.message().attempts()).isEqualTo(1);
+   }
+
+   private static CampaignRecord.WhatsAppMessage message(int clientId) {
+      return new CampaignRecord.WhatsAppMessage(UUID.randomUUID().toString(), clientId);
+   }
+}
@@ -0,0 +1,112 @@
+package org.example.service.WhatsAppQueue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.config.RedisConfig;
+import org.example.config.RedisQueueConfig;
+import org.example.domain.campaign.CampaignRecord;
+import org.example.support.TestRedis;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@EnabledIf("org.example.support.TestRedis#available")
+class RedisStreamWhatsAppQueueTest {
+   private static final Duration CLAIM_IDLE = Duration.ofMillis(300);
+   private static final Duration POLL_TIMEOUT = Duration.ofMillis(100);
+
+   private static RedisTemplate<String, byte[]> redisTemplate;
+
+   private RedisStreamWhatsAppQueue queue;
+
+   @BeforeAll
+   static void connect() {
+      redisTemplate = new RedisConfig().queueRedisTemplate(TestRedis.connectionFactory());
+      redisTemplate.afterPropertiesSet();
+   }
+
+   @BeforeEach
+   void emptyQueue() {
+      redisTemplate.delete(List.of(
+        RedisQueueConfig.WHATSAPP_MESSAGES_STREAM,
+        RedisQueueConfig.WHATSAPP_DELAYED_QUEUE,
+        RedisQueueConfig.WHATSAPP_DEAD_LETTER_QUEUE
+      ));
+      queue = queue(100);
+   }
+
+   @Test
+   void heartbeatKeepsSlowSendsFromBeingClaimed() throws InterruptedException {
+      queue.enqueueAll(List.of(message(1)));
+      WhatsAppQueueRecord.Delivery delivery = queue.poll("worker-a", POLL_TIMEOUT);
+
+      Thread.sleep(CLAIM_IDLE.toMillis() * 2 / 3);
+      queue.refreshInFlight();
+      Thread.sleep(CLAIM_IDLE.toMillis() * 2 / 3);
+      queue.claimStaleMessages();
+
+      assertThat(queue.poll("worker-b", POLL_TIMEOUT)).isNull();
+      queue.ack(delivery);
+      assertThat(queue.stats().pending()).isZero();
+      assertThat(redisTemplate.opsForStream().size(RedisQueueConfig.WHATSAPP_MESSAGES_STREAM)).isZero();
+   }
+
+   @Test
+   void sweepRequeuesAbandonedDeliveriesAsANewAttempt() throws InterruptedException {
+      queue.enqueueAll(List.of(message(1)));
+      queue.poll("worker-a", POLL_TIMEOUT);
+
+      Thread.sleep(CLAIM_IDLE.toMillis() + 100);
+      queue.claimStaleMessages();
+
+      WhatsAppQueueRecord.Delivery redelivered = queue.poll("worker-b", POLL_TIMEOUT);
+      assertThat(redelivered).isNotNull();
+      assertThat(redelivered.message().clientId()).isEqualTo(1);
+      assertThat(redelivered.message().attempts()).isEqualTo(1);
+   }
+
+   @Test
+   void sweepResumesFromItsCursor() throws InterruptedException {
+      queue = queue(1);
+      queue.enqueueAll(List.of(message(1), message(2)));
+      queue.poll("worker-a", POLL_TIMEOUT);
+      queue.poll("worker-a", POLL_TIMEOUT);
+      Thread.sleep(CLAIM_IDLE.toMillis() + 100);
+
+      queue.claimStaleMessages();
+      assertThat(queue.stats().pending()).isEqualTo(1);
+
+      queue.claimStaleMessages();
+      assertThat(queue.stats().pending()).isZero();
+      assertThat(queue.poll("worker-b", POLL_TIMEOUT).message().clientId()).isEqualTo(1);
+      assertThat(queue.poll("worker-b", POLL_TIMEOUT).message().clientId()).isEqualTo(2);
+   }
+
+   private RedisStreamWhatsAppQueue queue(int claimBatchSize) {
+      ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+      messageSource.setBasename("messages");
+      RedisStreamWhatsAppQueue queue = new RedisStreamWhatsAppQueue(
+        redisTemplate,
+        new BinaryWhatsAppMessageCodec(new ObjectMapper(), messageSource),
+        messageSource,
+        5,
+        CLAIM_IDLE,
+        claimBatchSize,
+        500
+      );
+      queue.createConsumerGroup();
+      return queue;
+   }
+
+   private static CampaignRecord.WhatsAppMessage message(int clientId) {
+      return new CampaignRecord.WhatsAppMessage(UUID.randomUUID().toString(), clientId);
+   }
+}
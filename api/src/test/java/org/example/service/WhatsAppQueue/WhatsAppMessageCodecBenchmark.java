@@ -0,0 +1,81 @@
+package org.example.service.WhatsAppQueue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.domain.campaign.CampaignRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.support.ResourceBundleMessageSource;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode/decode cost of a queue entry with the binary codec against the JSON one, which writes
+ * the same bytes the producer used to send through {@code writeValueAsString}.
+ * Run {@link #main} from the test classpath; it also prints the encoded size of each.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WhatsAppMessageCodecBenchmark {
+   @Param({"binary", "json"})
+   private String codecName;
+
+   private WhatsAppMessageCodec codec;
+   private CampaignRecord.WhatsAppMessage message;
+   private byte[] payload;
+
+   @Setup
+   public void setUp() {
+      codec = codec(codecName);
+      message = new CampaignRecord.WhatsAppMessage(UUID.randomUUID().toString(), 123_456, 2, System.currentTimeMillis(), 1);
+      payload = codec.encode(message);
+   }
+
+   @Benchmark
+   public byte[] encode() {
+      return codec.encode(message);
+   }
+
+   @Benchmark
+   public CampaignRecord.WhatsAppMessage decode() {
+      return codec.decode(payload);
+   }
+
+   private static WhatsAppMessageCodec codec(String name) {
+      ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+      messageSource.setBasename("messages");
+      ObjectMapper objectMapper = new ObjectMapper();
+      return "json".equals(name)
+        ? new JsonWhatsAppMessageCodec(objectMapper, messageSource)
+        : new BinaryWhatsAppMessageCodec(objectMapper, messageSource);
+   }
+
+   public static void main(String[] args) throws RunnerException {
+      CampaignRecord.WhatsAppMessage sample = new CampaignRecord.WhatsAppMessage(UUID.randomUUID().toString(), 123_456, 2, System.currentTimeMillis(), 1);
+      for (String name : new String[]{"binary", "json"}) {
+         System.out.printf("%s: %d bytes per message%n", name, codec(name).encode(sample).length);
+      }
+
+      new Runner(new OptionsBuilder()
+        .include(WhatsAppMessageCodecBenchmark.class.getSimpleName())
+        .addProfiler(GCProfiler.class)
+        .build()).run();
+   }
+}
@@ -0,0 +1,91 @@
+package org.example.service.WhatsAppQueue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.config.RedisConfig;
+import org.example.config.RedisQueueConfig;
+import org.example.domain.campaign.CampaignRecord;
+import org.example.support.TestRedis;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the old per-message RPUSH enqueue with the chunked multi-value RPUSH the campaign
+ * scheduler uses now. Run with {@code mvn test -Pperf -Dtest=WhatsAppQueueEnqueuePerfTest}.
+ */
+@Tag("perf")
+@EnabledIf("org.example.support.TestRedis#available")
+class WhatsAppQueueEnqueuePerfTest {
+   private static final int BATCH_SIZE = 500;
+
+   private static RedisTemplate<String, byte[]> queueRedisTemplate;
+   private static RedisListWhatsAppQueue queue;
+   private static WhatsAppMessageCodec codec;
+
+   @BeforeAll
+   static void connect() {
+      ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+      messageSource.setBasename("messages");
+      StringRedisTemplate redisTemplate = new StringRedisTemplate(TestRedis.connectionFactory());
+      queueRedisTemplate = new RedisConfig().queueRedisTemplate(TestRedis.connectionFactory());
+      queueRedisTemplate.afterPropertiesSet();
+      codec = new BinaryWhatsAppMessageCodec(new ObjectMapper(), messageSource);
+      queue = new RedisListWhatsAppQueue(
+        redisTemplate, queueRedisTemplate, codec, messageSource, 5, Duration.ofSeconds(30), Duration.ofMinutes(2), 500
+      );
+   }
+
+   @ParameterizedTest
+   @ValueSource(ints = {1_000, 10_000, 100_000})
+   void batchedEnqueueBeatsOnePushPerMessage(int clients) {
+      List<CampaignRecord.WhatsAppMessage> messages = messages(clients);
+
+      queueRedisTemplate.delete(RedisQueueConfig.WHATSAPP_MESSAGES_QUEUE);
+      long start = System.nanoTime();
+      for (CampaignRecord.WhatsAppMessage message : messages) {
+         queueRedisTemplate.opsForList().rightPush(RedisQueueConfig.WHATSAPP_MESSAGES_QUEUE, codec.encode(message));
+      }
+      Duration perMessage = Duration.ofNanos(System.nanoTime() - start);
+      assertThat(queueRedisTemplate.opsForList().size(RedisQueueConfig.WHATSAPP_MESSAGES_QUEUE)).isEqualTo(clients);
+
+      queueRedisTemplate.delete(RedisQueueConfig.WHATSAPP_MESSAGES_QUEUE);
+      start = System.nanoTime();
+      for (int from = 0; from < clients; from += BATCH_SIZE) {
+         queue.enqueueAll(messages.subList(from, Math.min(clients, from + BATCH_SIZE)));
+      }
+      Duration batched = Duration.ofNanos(System.nanoTime() - start);
+      assertThat(queueRedisTemplate.opsForList().size(RedisQueueConfig.WHATSAPP_MESSAGES_QUEUE)).isEqualTo(clients);
+      queueRedisTemplate.delete(RedisQueueConfig.WHATSAPP_MESSAGES_QUEUE);
+
+      System.out.printf("enqueue %,d messages: per-message %,d ms (%,.0f msg/s), batched %,d ms (%,.0f msg/s)%n",
+        clients, perMessage.toMillis(), rate(clients, perMessage), batched.toMillis(), rate(clients, batched));
+      if (clients >= 10_000) {
+         assertThat(batched).isLessThan(perMessage.dividedBy(5));
+      }
+   }
+
+   private static double rate(int count, Duration elapsed) {
+      return count / (elapsed.toNanos() / 1e9);
+   }
+
+   private static List<CampaignRecord.WhatsAppMessage> messages(int clients) {
+      String campaignId = UUID.randomUUID().toString();
+      List<CampaignRecord.WhatsAppMessage> messages = new ArrayList<>(clients);
+      for (int i = 0; i < clients; i++) {
+         messages.add(new CampaignRecord.WhatsAppMessage(campaignId, i));
+      }
+      return messages;
+   }
+}
@@ -0,0 +1,65 @@
+package org.example.support;
+
+import org.flywaydb.core.Flyway;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * PostgreSQL for integration tests: the database named by {@code -Dtest.postgres.url} (with
+ * {@code test.postgres.username} and {@code test.postgres.password}) when given, otherwise a
+ * throwaway container shared by every test class in the run. Migrations are applied once.
+ */
+public final class TestPostgres {
+   private static final String URL_PROPERTY = "test.postgres.url";
+
+   private static PostgreSQLContainer<?> container;
+   private static String jdbcUrl;
+   private static String username;
+   private static String password;
+
+   private TestPostgres() {
+   }
+
+   public static boolean available() {
+      return System.getProperty(URL_PROPERTY) != null || DockerClientFactory.instance().isDockerAvailable();
+   }
+
+   public static String jdbcUrl() {
+      start();
+      return jdbcUrl;
+   }
+
+   public static String username() {
+      start();
+      return username;
+   }
+
+   public static String password() {
+      start();
+      return password;
+   }
+
+   private static synchronized void start() {
+      if (jdbcUrl != null) {
+         return;
+      }
+
+      if (System.getProperty(URL_PROPERTY) != null) {
+         jdbcUrl = System.getProperty(URL_PROPERTY);
+         username = System.getProperty("test.postgres.username", "postgres");
+         password = System.getProperty("test.postgres.password", "");
+      } else {
+         container = new PostgreSQLContainer<>("postgres:15-alpine");
+         container.start();
+         jdbcUrl = container.getJdbcUrl();
+         username = container.getUsername();
+         password = container.getPassword();
+      }
+
+      Flyway.configure()
+        .dataSource(jdbcUrl, username, password)
+        .locations("classpath:db/migration")
+        .load()
+        .migrate();
+   }
+}
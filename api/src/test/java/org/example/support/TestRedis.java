@@ -0,0 +1,45 @@
+package org.example.support;
+
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Redis for integration tests: the server named by {@code -Dtest.redis.url=host:port} when given,
+ * otherwise a throwaway container shared by every test class in the run.
+ */
+public final class TestRedis {
+   private static final String URL_PROPERTY = "test.redis.url";
+
+   private static GenericContainer<?> container;
+   private static LettuceConnectionFactory connectionFactory;
+
+   private TestRedis() {
+   }
+
+   public static boolean available() {
+      return System.getProperty(URL_PROPERTY) != null || DockerClientFactory.instance().isDockerAvailable();
+   }
+
+   public static synchronized LettuceConnectionFactory connectionFactory() {
+      if (connectionFactory == null) {
+         connectionFactory = new LettuceConnectionFactory(configuration());
+         connectionFactory.afterPropertiesSet();
+      }
+      return connectionFactory;
+   }
+
+   private static RedisStandaloneConfiguration configuration() {
+      String url = System.getProperty(URL_PROPERTY);
+      if (url != null) {
+         int separator = url.lastIndexOf(':');
+         return new RedisStandaloneConfiguration(url.substring(0, separator), Integer.parseInt(url.substring(separator + 1)));
+      }
+
+      container = new GenericContainer<>(DockerImageName.parse("redis:7-alpine")).withExposedPorts(6379);
+      container.start();
+      return new RedisStandaloneConfiguration(container.getHost(), container.getMappedPort(6379));
+   }
+}